@@ -0,0 +1,279 @@
+package com.nature.distribution.claimer;
+
+import com.nature.distribution.definition.TaskClaimer;
+import com.nature.distribution.model.Keyable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 基于数据库的任务编号领取者（JDBC任务编号领取者）
+ * 只替代任务编号的领取、租约及完成标记，数据下标、处理进度、任务信息及机器心跳仍保存在缓存中，仍需要设置缓存提供者；
+ * 每个任务编号一行，领取时使用SELECT ... FOR UPDATE SKIP LOCKED，多台机器并发领取不同行互不阻塞，不需要全局锁；
+ * 默认SQL适用于PostgreSQL 9.5+、MySQL 8+，其他数据库可继承后覆盖claimSql。表结构：
+ * <pre>
+ * CREATE TABLE distribution_task (
+ *     job_key     VARCHAR(255) NOT NULL,
+ *     task_no     INT          NOT NULL,
+ *     status      INT          NOT NULL,   -- 0待领取 1处理中 2已完成
+ *     owner       VARCHAR(64),
+ *     lease_until TIMESTAMP,               -- 租约到期时间
+ *     PRIMARY KEY (job_key, task_no)
+ * );
+ * </pre>
+ * 租约到期时间在SQL中按数据库时间（CURRENT_TIMESTAMP）计算及比较，不受各机器本地时钟影响
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 20:10
+ */
+public class JdbcTaskClaimer implements TaskClaimer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcTaskClaimer.class);
+
+    /**
+     * 状态：待领取
+     */
+    private static final int STATUS_PENDING = 0;
+    /**
+     * 状态：处理中
+     */
+    private static final int STATUS_HANDLING = 1;
+    /**
+     * 状态：已完成
+     */
+    private static final int STATUS_FINISH = 2;
+
+    /**
+     * 数据源
+     */
+    private final DataSource dataSource;
+    /**
+     * 表名
+     */
+    private String tableName = "distribution_task";
+    /**
+     * 租约到期时间表达式（按数据库类型确定，参数为租约秒数）
+     */
+    private volatile String leaseUntilExpression;
+
+    public JdbcTaskClaimer(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new NullPointerException("data source is null");
+        }
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 设置表名
+     * @param tableName 表名
+     */
+    public void setTableName(String tableName) {
+        if (tableName == null || !tableName.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new RuntimeException("表名不合法：" + tableName);
+        }
+        this.tableName = tableName;
+    }
+
+    /**
+     * 补齐缺少的任务编号行（已存在的不处理，其他机器同时插入导致主键冲突时视为已初始化）
+     */
+    @Override
+    public void init(Keyable job, int taskTotal) {
+        String jobKey = job.genKey();
+        try (Connection connection = dataSource.getConnection()) {
+            int max;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT COALESCE(MAX(task_no), 0) FROM " + tableName + " WHERE job_key = ?")) {
+                ps.setString(1, jobKey);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    max = rs.getInt(1);
+                }
+            }
+            if (max >= taskTotal) {
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO " + tableName + " (job_key, task_no, status) VALUES (?, ?, ?)")) {
+                for (int taskNo = max + 1; taskNo <= taskTotal; taskNo++) {
+                    ps.setString(1, jobKey);
+                    ps.setInt(2, taskNo);
+                    ps.setInt(3, STATUS_PENDING);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                if (!isDuplicateKey(e)) {
+                    throw e;
+                }
+                LOG.info(String.format("任务编号已由其他机器初始化 %s", jobKey));
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("初始化任务编号失败：" + jobKey, e);
+        }
+    }
+
+    @Override
+    public Integer claim(Keyable job, String machineNo, long leaseSeconds) {
+        String jobKey = job.genKey();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Integer taskNo = null;
+                try (PreparedStatement ps = connection.prepareStatement(claimSql())) {
+                    ps.setString(1, jobKey);
+                    ps.setInt(2, STATUS_PENDING);
+                    ps.setInt(3, STATUS_HANDLING);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) {
+                            taskNo = rs.getInt(1);
+                        }
+                    }
+                }
+                if (taskNo != null) {
+                    try (PreparedStatement ps = connection.prepareStatement("UPDATE " + tableName +
+                            " SET status = ?, owner = ?, lease_until = " + leaseUntilExpression(connection) +
+                            " WHERE job_key = ? AND task_no = ?")) {
+                        ps.setInt(1, STATUS_HANDLING);
+                        ps.setString(2, machineNo);
+                        ps.setLong(3, leaseSeconds);
+                        ps.setString(4, jobKey);
+                        ps.setInt(5, taskNo);
+                        ps.executeUpdate();
+                    }
+                }
+                connection.commit();
+                return taskNo;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("领取任务编号失败：" + jobKey, e);
+        }
+    }
+
+    @Override
+    public boolean renew(Keyable job, int taskNo, String machineNo, long leaseSeconds) {
+        return update(connection -> "UPDATE " + tableName + " SET lease_until = " + leaseUntilExpression(connection) +
+                " WHERE job_key = ? AND task_no = ? AND owner = ? AND status = " + STATUS_HANDLING,
+                leaseSeconds, job, taskNo, machineNo) == 1;
+    }
+
+    @Override
+    public void complete(Keyable job, int taskNo, String machineNo) {
+        int rows = update(connection -> "UPDATE " + tableName + " SET status = " + STATUS_FINISH +
+                ", lease_until = NULL WHERE job_key = ? AND task_no = ? AND owner = ?", null, job, taskNo, machineNo);
+        if (rows == 0) {
+            LOG.warn(String.format("任务编号 %s 已被其他机器领取，完成状态未更新", taskNo));
+        }
+    }
+
+    @Override
+    public int countUnfinished(Keyable job) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM " + tableName + " WHERE job_key = ? AND status <> ?")) {
+            ps.setString(1, job.genKey());
+            ps.setInt(2, STATUS_FINISH);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("查询未完成任务编号失败：" + job.genKey(), e);
+        }
+    }
+
+    /**
+     * 领取SQL（参数依次为：任务key、待领取状态、处理中状态），只锁定并返回一行，跳过其他机器已锁定的行
+     * @return SQL
+     */
+    protected String claimSql() {
+        return "SELECT task_no FROM " + tableName + " WHERE job_key = ?" +
+                " AND (status = ? OR (status = ? AND lease_until < CURRENT_TIMESTAMP))" +
+                " ORDER BY task_no LIMIT 1 FOR UPDATE SKIP LOCKED";
+    }
+
+    /**
+     * 租约到期时间表达式（数据库当前时间加租约秒数，参数为租约秒数），其他数据库可覆盖
+     * @param connection 连接
+     * @return SQL表达式
+     * @throws SQLException 查询数据库类型失败
+     */
+    protected String leaseUntilExpression(Connection connection) throws SQLException {
+        String expression = leaseUntilExpression;
+        if (expression == null) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if ("MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product)) {
+                expression = "CURRENT_TIMESTAMP + INTERVAL ? SECOND";
+            } else {
+                expression = "CURRENT_TIMESTAMP + INTERVAL '1' SECOND * CAST(? AS INTEGER)";
+            }
+            leaseUntilExpression = expression;
+        }
+        return expression;
+    }
+
+    /**
+     * 按持有者更新一行
+     * @param sql          SQL（参数依次为：租约秒数（可无）、任务key、任务编号、机器编号）
+     * @param leaseSeconds 租约秒数，null表示SQL中没有该参数
+     * @param job          任务
+     * @param taskNo       任务编号
+     * @param machineNo    机器编号
+     * @return 更新行数
+     */
+    private int update(SqlBuilder sql, Long leaseSeconds, Keyable job, int taskNo, String machineNo) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.build(connection))) {
+            int i = 1;
+            if (leaseSeconds != null) {
+                ps.setLong(i++, leaseSeconds);
+            }
+            ps.setString(i++, job.genKey());
+            ps.setInt(i++, taskNo);
+            ps.setString(i, machineNo);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("更新任务编号失败：" + taskNo, e);
+        }
+    }
+
+    /**
+     * SQL构建（需要按连接的数据库类型确定表达式）
+     */
+    private interface SqlBuilder {
+
+        String build(Connection connection) throws SQLException;
+    }
+
+    /**
+     * 是否主键冲突（SQLState 23开头为完整性约束冲突）
+     * @param e 异常
+     * @return true：主键冲突
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        for (SQLException next = e; next != null; next = next.getNextException()) {
+            String state = next.getSQLState();
+            if (state != null && state.startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,240 @@
+package com.nature.distribution.codec;
+
+import com.nature.distribution.definition.Codec;
+import com.nature.distribution.model.MachineInfo;
+import com.nature.distribution.model.TaskInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * 紧凑二进制编解码器
+ * 任务信息与机器信息按固定字段顺序编码（整数为变长编码，时间为毫秒数），其余类型交给后备编解码器，
+ * 首字节为类型标记：1任务信息，2机器信息，0后备编码
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 17:50
+ */
+public class CompactModelCodec implements Codec {
+
+    /**
+     * 类型标记：后备编码
+     */
+    private static final byte TYPE_FALLBACK = 0;
+    /**
+     * 类型标记：任务信息
+     */
+    private static final byte TYPE_TASK_INFO = 1;
+    /**
+     * 类型标记：机器信息
+     */
+    private static final byte TYPE_MACHINE_INFO = 2;
+
+    /**
+     * 后备编解码器
+     */
+    private final Codec fallback;
+
+    /**
+     * 其余类型使用java序列化
+     */
+    public CompactModelCodec() {
+        this(JavaSerializationCodec.getInstance());
+    }
+
+    /**
+     * @param fallback 其余类型使用的编解码器
+     */
+    public CompactModelCodec(Codec fallback) {
+        if (fallback == null) {
+            throw new NullPointerException("fallback codec is null");
+        }
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Writer writer = new Writer();
+        if (value.getClass() == TaskInfo.class) {
+            TaskInfo taskInfo = (TaskInfo) value;
+            writer.writeByte(TYPE_TASK_INFO);
+            writer.writeInt(taskInfo.getTaskNo());
+            writer.writeString(taskInfo.getMachineNo());
+            writer.writeInt(taskInfo.getTotal());
+            writer.writeInt(taskInfo.getFinish());
+            writer.writeInt(taskInfo.getStatus());
+            writer.writeDate(taskInfo.getStartTime());
+            writer.writeDate(taskInfo.getFinishTime());
+            writer.writeInt(taskInfo.getErrorTotal());
+        } else if (value.getClass() == MachineInfo.class) {
+            MachineInfo machineInfo = (MachineInfo) value;
+            writer.writeByte(TYPE_MACHINE_INFO);
+            writer.writeString(machineInfo.getMachineNo());
+            writer.writeDate(machineInfo.getLastHeartbeatTime());
+        } else {
+            writer.writeByte(TYPE_FALLBACK);
+            writer.writeBytes(fallback.encode(value));
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length == 0) {
+            throw new RuntimeException("解码失败：字节为空");
+        }
+        Reader reader = new Reader(bytes);
+        byte type = reader.readByte();
+        switch (type) {
+            case TYPE_TASK_INFO:
+                TaskInfo taskInfo = new TaskInfo();
+                taskInfo.setTaskNo(reader.readInt());
+                taskInfo.setMachineNo(reader.readString());
+                taskInfo.setTotal(reader.readInt());
+                taskInfo.setFinish(reader.readInt());
+                taskInfo.setStatus(reader.readInt());
+                taskInfo.setStartTime(reader.readDate());
+                taskInfo.setFinishTime(reader.readDate());
+                taskInfo.setErrorTotal(reader.readInt());
+                return taskInfo;
+            case TYPE_MACHINE_INFO:
+                String machineNo = reader.readString();
+                return new MachineInfo(machineNo, reader.readDate());
+            case TYPE_FALLBACK:
+                return fallback.decode(Arrays.copyOfRange(bytes, 1, bytes.length));
+            default:
+                throw new RuntimeException("解码失败：未知类型标记" + type);
+        }
+    }
+
+    /**
+     * 写入器
+     */
+    private static class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+
+        private void writeByte(int b) {
+            out.write(b);
+        }
+
+        private void writeBytes(byte[] bytes) {
+            out.write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * 写入整数（zigzag变长编码，负数同样紧凑）
+         */
+        private void writeInt(int value) {
+            writeLong(value);
+        }
+
+        /**
+         * 写入长整数（zigzag变长编码）
+         */
+        private void writeLong(long value) {
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                out.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            out.write((int) v);
+        }
+
+        /**
+         * 写入字符串（长度+1，0表示null）
+         */
+        private void writeString(String value) {
+            if (value == null) {
+                writeLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        /**
+         * 写入时间（毫秒数，null单独标记）
+         */
+        private void writeDate(Date value) {
+            if (value == null) {
+                out.write(0);
+            } else {
+                out.write(1);
+                writeLong(value.getTime());
+            }
+        }
+
+        private byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 读取器
+     */
+    private static class Reader {
+
+        private final byte[] bytes;
+
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private byte readByte() {
+            if (position >= bytes.length) {
+                throw new RuntimeException("解码失败：字节不完整");
+            }
+            return bytes[position++];
+        }
+
+        private int readInt() {
+            long value = readLong();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new RuntimeException("解码失败：整数越界" + value);
+            }
+            return (int) value;
+        }
+
+        private long readLong() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new RuntimeException("解码失败：变长整数过长");
+        }
+
+        private String readString() {
+            long length = readLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            if (size < 0 || size > bytes.length - position) {
+                throw new RuntimeException("解码失败：字符串长度非法" + size);
+            }
+            String value = new String(bytes, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+
+        private Date readDate() {
+            return readByte() == 0 ? null : new Date(readLong());
+        }
+    }
+}
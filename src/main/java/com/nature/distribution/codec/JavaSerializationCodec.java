@@ -0,0 +1,56 @@
+package com.nature.distribution.codec;
+
+import com.nature.distribution.definition.Codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * java序列化编解码器
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 17:50
+ */
+public class JavaSerializationCodec implements Codec {
+
+    /**
+     * 单例
+     */
+    private static final JavaSerializationCodec INSTANCE = new JavaSerializationCodec();
+
+    private JavaSerializationCodec() {
+    }
+
+    public static JavaSerializationCodec getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(value);
+        } catch (IOException e) {
+            throw new RuntimeException("序列化失败：" + value.getClass().getName(), e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("反序列化失败", e);
+        }
+    }
+}
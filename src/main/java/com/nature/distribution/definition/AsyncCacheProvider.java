@@ -0,0 +1,174 @@
+package com.nature.distribution.definition;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步缓存提供者接口（调用立即返回，操作完成时完成返回的future）
+ * 不保证不同操作之间的执行顺序，需要顺序的调用方在前一个操作完成后再发出下一个操作（或使用管道一次发出）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 18:20
+ */
+public interface AsyncCacheProvider {
+
+    /**
+     * 放入缓存
+     * @param key   键
+     * @param value 值
+     * @return 完成结果
+     */
+    CompletableFuture<Void> set(String key, Object value);
+
+    /**
+     * 放入缓存并设置过期时间
+     * @param key          键
+     * @param value        值
+     * @param expireMillis 过期时间（毫秒）
+     * @return 完成结果
+     */
+    CompletableFuture<Void> set(String key, Object value, long expireMillis);
+
+    /**
+     * 获取缓存值
+     * @param key 键
+     * @return 值
+     */
+    CompletableFuture<Object> get(String key);
+
+    /**
+     * 是否有key
+     * @param key key
+     * @return 结果
+     */
+    CompletableFuture<Boolean> hasKey(String key);
+
+    /**
+     * 设置过期时间
+     * @param key        key
+     * @param expireTime 时间（秒）
+     * @return 完成结果
+     */
+    CompletableFuture<Void> expire(String key, Long expireTime);
+
+    /**
+     * 增加并获取值
+     * @param key   key
+     * @param value 增加的值
+     * @return 增加后的值
+     */
+    CompletableFuture<Integer> incrementAndGet(String key, long value);
+
+    /**
+     * 设置hash值
+     * @param key     key
+     * @param hashKey hash key
+     * @param value   值
+     * @return 完成结果
+     */
+    CompletableFuture<Void> setHash(String key, String hashKey, Object value);
+
+    /**
+     * 获取hash值
+     * @param key     key
+     * @param hashKey hash key
+     * @param vClass  值类型
+     * @param <V>     值类型
+     * @return 值
+     */
+    <V> CompletableFuture<V> getHash(String key, String hashKey, Class<V> vClass);
+
+    /**
+     * 原子更新hash值
+     * @param key     key
+     * @param hashKey hash key
+     * @param vClass  值类型
+     * @param updater 更新逻辑
+     * @param <V>     值类型
+     * @return 更新后的值，null表示未更新
+     */
+    <V> CompletableFuture<V> updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater);
+
+    /**
+     * 增加hash中指定hashKey的计数
+     * @param key     map对应key
+     * @param hashKey hash key
+     * @param delta   增量
+     * @return 增加后的值
+     */
+    default CompletableFuture<Long> incrementHash(String key, String hashKey, long delta) {
+        throw new UnsupportedOperationException("cache provider not support atomic increment");
+    }
+
+    /**
+     * 是否支持原子递增hash计数
+     * @return true：支持
+     */
+    default boolean supportsAtomicIncrement() {
+        return false;
+    }
+
+    /**
+     * 添加至set
+     * @param key   key
+     * @param value 值
+     * @return 完成结果
+     */
+    CompletableFuture<Void> addToSet(String key, Object value);
+
+    /**
+     * 批量添加至set
+     * @param key    key
+     * @param values 值
+     * @return 完成结果
+     */
+    CompletableFuture<Void> addAllToSet(String key, Collection<?> values);
+
+    /**
+     * 是否支持异步管道（支持时一组操作一次交互发出）
+     * @return true：支持
+     */
+    default boolean supportsPipeline() {
+        return false;
+    }
+
+    /**
+     * 异步执行一组管道操作（管道中的操作按排队顺序一次交互发出，全部完成时完成）
+     * @param operations 在管道中排队操作的逻辑
+     * @return 完成结果
+     */
+    default CompletableFuture<Void> pipelined(Executable<CachePipeline> operations) {
+        throw new UnsupportedOperationException("async cache provider not support pipeline");
+    }
+
+    /**
+     * 是否支持位图
+     * @return true：支持
+     */
+    boolean supportsBitmap();
+
+    /**
+     * 设置位
+     * @param key    key
+     * @param offset 位置
+     * @param value  值
+     * @return 原值
+     */
+    CompletableFuture<Boolean> setBit(String key, long offset, boolean value);
+
+    /**
+     * 批量设置位
+     * @param key  key
+     * @param bits 需要设置为1的位
+     * @return 完成结果
+     */
+    CompletableFuture<Void> setBits(String key, BitSet bits);
+
+    /**
+     * 删除key
+     * @param key key
+     * @return 完成结果
+     */
+    CompletableFuture<Void> remove(String key);
+}
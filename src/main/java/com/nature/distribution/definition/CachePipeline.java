@@ -0,0 +1,108 @@
+package com.nature.distribution.definition;
+
+import com.nature.distribution.model.PipelineResponse;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 缓存管道（操作先排队，sync时一次交互全部执行，结果在sync后获取，sync后可继续排队使用）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 15:00
+ */
+public interface CachePipeline {
+
+    /**
+     * 获取值
+     * @param key 键
+     * @return 值
+     */
+    PipelineResponse<Object> get(String key);
+
+    /**
+     * 设置值
+     * @param key   键
+     * @param value 值
+     * @return 结果
+     */
+    PipelineResponse<Void> set(String key, Object value);
+
+    /**
+     * 清除key
+     * @param key 键
+     * @return 结果
+     */
+    PipelineResponse<Void> remove(String key);
+
+    /**
+     * 设置过期时间
+     * @param key        键
+     * @param expireTime 过期时间
+     * @return 结果
+     */
+    PipelineResponse<Void> expire(String key, Long expireTime);
+
+    /**
+     * 获取哈希值
+     * @param key     map对应key
+     * @param hashKey map中的哈希key
+     * @param vClass  值类型
+     * @param <V>     值类型
+     * @return 值
+     */
+    <V> PipelineResponse<V> getHash(String key, String hashKey, Class<V> vClass);
+
+    /**
+     * 设置哈希值
+     * @param key     map对应key
+     * @param hashKey map中的哈希key
+     * @param value   值
+     * @return 结果
+     */
+    PipelineResponse<Void> setHash(String key, String hashKey, Object value);
+
+    /**
+     * 增加hash中指定hashKey的计数
+     * @param key     键
+     * @param hashKey map中的键
+     * @param delta   增量
+     * @return 增加后的值
+     */
+    PipelineResponse<Long> incrementHash(String key, String hashKey, long delta);
+
+    /**
+     * 全部添加到set
+     * @param key    键
+     * @param values 值集合
+     * @return 结果
+     */
+    PipelineResponse<Void> addAllToSet(String key, Collection<?> values);
+
+    /**
+     * 获取set size
+     * @param key 键
+     * @return size
+     */
+    PipelineResponse<Integer> getSetSize(String key);
+
+    /**
+     * 获取位图中值为1的位数
+     * @param key 键
+     * @return 位数
+     */
+    PipelineResponse<Long> bitCount(String key);
+
+    /**
+     * 批量设置位图中的位为1
+     * @param key  键
+     * @param bits 需要设置的位
+     * @return 结果
+     */
+    PipelineResponse<Void> setBits(String key, BitSet bits);
+
+    /**
+     * 执行全部排队的操作
+     */
+    void sync();
+}
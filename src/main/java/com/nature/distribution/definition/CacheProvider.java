@@ -1,5 +1,6 @@
 package com.nature.distribution.definition;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,14 @@ public interface CacheProvider {
      */
     boolean lock(String lockKey, Long lockSeconds);
 
+    /**
+     * 解锁（默认直接删除锁，支持持有者校验的提供者可覆盖为只释放自己持有的锁）
+     * @param lockKey 锁定key
+     */
+    default void unlock(String lockKey) {
+        remove(lockKey);
+    }
+
     /**
      * 设置过期时间
      * @param key        键
@@ -55,6 +64,26 @@ public interface CacheProvider {
      */
     void expire(String key, Long expireTime);
 
+    /**
+     * 放入缓存并设置过期时间（默认先放入再设置过期时间，非原子，支持的提供者可覆盖为原子操作）
+     * @param key          键
+     * @param value        值
+     * @param expireMillis 过期时间（毫秒）
+     */
+    default void set(String key, Object value, long expireMillis) {
+        set(key, value);
+        expireMillis(key, expireMillis);
+    }
+
+    /**
+     * 设置过期时间（毫秒，默认向上取整为秒）
+     * @param key          键
+     * @param expireMillis 过期时间（毫秒）
+     */
+    default void expireMillis(String key, long expireMillis) {
+        expire(key, (expireMillis + 999) / 1000);
+    }
+
     /**
      * 判断是否存在key
      * @param key key
@@ -70,6 +99,18 @@ public interface CacheProvider {
      */
     Integer incrementAndGet(String key, long value);
 
+    /**
+     * 原子领取编号（递增后不超过上限即领取成功）
+     * 默认基于incrementAndGet实现，编号领完后计数器会继续递增，支持脚本的提供者可覆盖为不越界的实现
+     * @param key   key
+     * @param limit 编号上限
+     * @return 领取到的编号，null表示已无可领取的编号
+     */
+    default Integer claim(String key, int limit) {
+        Integer no = incrementAndGet(key, 1);
+        return no != null && no <= limit ? no : null;
+    }
+
     /**
      * 指定map中指定hashKey的值设置
      * @param key     map对应的key
@@ -101,6 +142,45 @@ public interface CacheProvider {
      */
     <V> V getHash(String key, String hashKey, Class<V> vClass);
 
+    /**
+     * 原子更新哈希值（读取、计算、写回作为一个原子操作完成）
+     * 更新逻辑在并发冲突时可能被重复调用，不能有其他副作用
+     * 默认实现为读取后写回，不保证原子性，支持事务或脚本的提供者应覆盖为原子实现
+     * @param key     map对应key
+     * @param hashKey map中的哈希key
+     * @param vClass  值类型
+     * @param updater 更新逻辑
+     * @param <V>     值类型
+     * @return 更新后的值，null表示未更新
+     */
+    default <V> V updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        V value = updater.update(getHash(key, hashKey, vClass));
+        if (value != null) {
+            setHash(key, hashKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * 是否支持原子递增hash计数（支持时维护进度计数，否则进度按数据下标集合大小统计）
+     * @return true：支持
+     */
+    default boolean supportsAtomicIncrement() {
+        return false;
+    }
+
+    /**
+     * 原子增加hash中指定hashKey的计数（不存在时从0开始）
+     * 只在supportsAtomicIncrement为true时调用，读取后写回的实现在并发时会丢失计数
+     * @param key     map对应key
+     * @param hashKey map中的哈希key
+     * @param delta   增量
+     * @return 增加后的值
+     */
+    default long incrementHash(String key, String hashKey, long delta) {
+        throw new UnsupportedOperationException("cache provider not support atomic increment");
+    }
+
     /**
      * 删除hash中某个key
      * @param key     key
@@ -129,6 +209,17 @@ public interface CacheProvider {
      */
     void addToSet(String key, Object value);
 
+    /**
+     * 全部添加到set（默认逐个添加，支持批量命令的提供者可覆盖为一次交互）
+     * @param key    键
+     * @param values 值集合
+     */
+    default void addAllToSet(String key, Collection<?> values) {
+        for (Object value : values) {
+            addToSet(key, value);
+        }
+    }
+
     /**
      * set中是否存在
      * @param key   键
@@ -144,6 +235,64 @@ public interface CacheProvider {
      */
     int getSetSize(String key);
 
+    /**
+     * 是否支持位图操作（支持时数据下标集合使用位图存储，每条数据只占用一位）
+     * @return true：支持
+     */
+    default boolean supportsBitmap() {
+        return false;
+    }
+
+    /**
+     * 设置位图指定位
+     * @param key    键
+     * @param offset 位置
+     * @param value  值
+     * @return 设置前的值
+     */
+    default boolean setBit(String key, long offset, boolean value) {
+        throw new UnsupportedOperationException("cache provider not support bitmap");
+    }
+
+    /**
+     * 批量设置位图中的位为1（默认逐位设置，支持批量命令的提供者可覆盖为一次交互）
+     * @param key  键
+     * @param bits 需要设置的位
+     */
+    default void setBits(String key, BitSet bits) {
+        bits.stream().forEach(offset -> setBit(key, offset, true));
+    }
+
+    /**
+     * 获取位图指定位
+     * @param key    键
+     * @param offset 位置
+     * @return 值
+     */
+    default boolean getBit(String key, long offset) {
+        throw new UnsupportedOperationException("cache provider not support bitmap");
+    }
+
+    /**
+     * 获取位图中值为1的位数
+     * @param key 键
+     * @return 位数
+     */
+    default long bitCount(String key) {
+        throw new UnsupportedOperationException("cache provider not support bitmap");
+    }
+
+    /**
+     * 获取位图指定范围
+     * @param key   键
+     * @param start 开始位置
+     * @param end   结束位置（不包含，小于0表示到位图末尾）
+     * @return 位图（位置与原位图一致）
+     */
+    default BitSet getBits(String key, long start, long end) {
+        throw new UnsupportedOperationException("cache provider not support bitmap");
+    }
+
     /**
      * 从缓存中取出set
      * @param key    键
@@ -206,4 +355,27 @@ public interface CacheProvider {
      */
     List<Object> getList(String key);
 
+    /**
+     * 开启管道（默认顺序执行，支持管道的提供者可覆盖为一次交互执行）
+     * @return 管道
+     */
+    default CachePipeline pipelined() {
+        return new SequentialCachePipeline(this);
+    }
+
+    /**
+     * 获取值的编解码器（写入、读取值时使用）
+     * @return 编解码器，null表示直接保存对象不需要编码
+     */
+    default Codec getCodec() {
+        return null;
+    }
+
+    /**
+     * 清除本地缓存的值（带本地缓存的提供者使用，默认无本地缓存不需要处理）
+     * @param key 键
+     */
+    default void invalidateLocal(String key) {
+    }
+
 }
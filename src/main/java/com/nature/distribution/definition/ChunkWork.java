@@ -0,0 +1,38 @@
+package com.nature.distribution.definition;
+
+import com.nature.distribution.model.ChunkResult;
+import com.nature.distribution.model.KeyAndPage;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量处理任务（数据按块批量交给处理逻辑，便于批量写入等减少下游交互次数）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 10:45
+ */
+public interface ChunkWork<P extends KeyAndPage, D> extends Work<P, D> {
+
+    /**
+     * 批量处理数据
+     * 抛出异常视为本块数据全部处理异常
+     * @param param 执行参数
+     * @param chunk 数据块
+     * @return 处理结果，null表示全部处理成功
+     */
+    ChunkResult handleChunk(P param, List<D> chunk);
+
+    /**
+     * 处理数据（按只有一条数据的块处理）
+     * @param param 执行参数
+     * @param datum 数据
+     */
+    @Override
+    default void handleDatum(P param, D datum) {
+        ChunkResult result = handleChunk(param, Collections.singletonList(datum));
+        if (result != null && result.isError(0)) {
+            throw new RuntimeException("处理数据错误");
+        }
+    }
+}
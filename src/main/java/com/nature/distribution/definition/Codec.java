@@ -0,0 +1,24 @@
+package com.nature.distribution.definition;
+
+/**
+ * 缓存值编解码器（远程缓存提供者写入、读取值时使用）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 17:50
+ */
+public interface Codec {
+
+    /**
+     * 编码
+     * @param value 值
+     * @return 字节
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 解码
+     * @param bytes 字节
+     * @return 值
+     */
+    Object decode(byte[] bytes);
+}
@@ -1,5 +1,6 @@
 package com.nature.distribution.definition;
 
+import com.nature.distribution.model.JobProgress;
 import com.nature.distribution.model.Keyable;
 import com.nature.distribution.model.MachineInfo;
 import com.nature.distribution.model.TaskInfo;
@@ -35,6 +36,27 @@ public interface ExecutorWatcher {
      */
     List<TaskInfo> selectTaskList(Keyable param);
 
+    /**
+     * 查询任务整体进度
+     * 默认由数据总数、任务总数及任务列表汇总，支持进度计数的监控器应覆盖
+     * @param param 参数
+     * @return 任务整体进度
+     */
+    default JobProgress selectProgress(Keyable param) {
+        JobProgress progress = new JobProgress();
+        progress.setDataTotal(selectDataTotal(param));
+        progress.setTaskTotal(selectTaskTotal(param));
+        long finish = 0L;
+        long errorTotal = 0L;
+        for (TaskInfo taskInfo : selectTaskList(param)) {
+            finish += taskInfo.getFinish();
+            errorTotal += taskInfo.getErrorTotal();
+        }
+        progress.setFinish(finish);
+        progress.setErrorTotal(errorTotal);
+        return progress;
+    }
+
     /**
      * 查询是否全部任务已完成
      * @param param 参数
@@ -42,12 +64,42 @@ public interface ExecutorWatcher {
      */
     boolean isAllTaskDone(Keyable param);
 
+    /**
+     * 全量扫描任务信息校正完成计数（只用于宕机恢复）
+     * 默认无完成计数可校正，直接查询是否全部任务已完成
+     * @param param 参数
+     * @return 否全部任务已完成
+     */
+    default boolean reconcileCompletion(Keyable param) {
+        return isAllTaskDone(param);
+    }
+
     /**
      * 心跳间隔设置
      * @param rate 频率
      */
     void setHeartbeatRate(int rate);
 
+    /**
+     * 设置存活key过期时间（大于0时机器存活由各自续期的存活key判断）
+     * 默认只支持心跳时间判断
+     * @param ttlMillis 过期时间（毫秒，0表示使用心跳时间判断）
+     */
+    default void setLivenessTtl(long ttlMillis) {
+        if (ttlMillis > 0) {
+            throw new UnsupportedOperationException("executor watcher not support liveness ttl");
+        }
+    }
+
+    /**
+     * 设置故障检测器（心跳模式下判断机器是否宕机）
+     * 默认不支持更换故障检测器
+     * @param failureDetector 故障检测器
+     */
+    default void setFailureDetector(FailureDetector failureDetector) {
+        throw new UnsupportedOperationException("executor watcher not support failure detector");
+    }
+
     /**
      * 获取全部活跃的机器信息
      * @return 活跃的机器信息
@@ -61,4 +113,14 @@ public interface ExecutorWatcher {
      */
     boolean isActive(String machineNo);
 
+    /**
+     * 指定机器的怀疑程度（越大越可能已宕机）
+     * 默认只区分活动中（0）与非活动（无穷大）
+     * @param machineNo 机器编号
+     * @return 怀疑程度
+     */
+    default double suspicion(String machineNo) {
+        return isActive(machineNo) ? 0D : Double.POSITIVE_INFINITY;
+    }
+
 }
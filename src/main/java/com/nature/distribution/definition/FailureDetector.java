@@ -0,0 +1,47 @@
+package com.nature.distribution.definition;
+
+/**
+ * 机器故障检测器（根据观察到的心跳判断机器是否宕机）
+ * 心跳时间均为机器写入的心跳时间，同一机器的心跳间隔不受机器间时钟差异影响
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 22:40
+ */
+public interface FailureDetector {
+
+    /**
+     * 设置心跳间隔（由监控器在心跳频率变化时设置）
+     * @param intervalMillis 心跳间隔（毫秒）
+     */
+    void setHeartbeatInterval(long intervalMillis);
+
+    /**
+     * 记录观察到的心跳（同一心跳重复观察需要忽略）
+     * @param machineNo       机器编号
+     * @param heartbeatMillis 心跳时间（毫秒）
+     */
+    void heartbeat(String machineNo, long heartbeatMillis);
+
+    /**
+     * 怀疑程度（越大越可能已宕机，未观察到心跳的机器为0）
+     * @param machineNo 机器编号
+     * @param now       当前时间（本机时钟，毫秒）
+     * @return 怀疑程度
+     */
+    double suspicion(String machineNo, long now);
+
+    /**
+     * 是否判定机器已宕机
+     * @param machineNo 机器编号
+     * @param now       当前时间（毫秒）
+     * @return true：已宕机
+     */
+    boolean isSuspected(String machineNo, long now);
+
+    /**
+     * 移除机器的心跳记录（机器已移除时调用）
+     * @param machineNo 机器编号
+     */
+    void remove(String machineNo);
+
+}
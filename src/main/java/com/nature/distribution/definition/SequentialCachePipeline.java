@@ -0,0 +1,126 @@
+package com.nature.distribution.definition;
+
+import com.nature.distribution.model.PipelineResponse;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 顺序执行的缓存管道（不支持管道的缓存提供者使用，sync时逐个调用缓存提供者）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 15:10
+ */
+public class SequentialCachePipeline implements CachePipeline {
+
+    /**
+     * 缓存提供者
+     */
+    private final CacheProvider cacheProvider;
+    /**
+     * 排队的操作
+     */
+    private final List<Runnable> operations = new ArrayList<>();
+
+    public SequentialCachePipeline(CacheProvider cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    @Override
+    public PipelineResponse<Object> get(String key) {
+        return queue(() -> cacheProvider.get(key));
+    }
+
+    @Override
+    public PipelineResponse<Void> set(String key, Object value) {
+        return queue(() -> {
+            cacheProvider.set(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public PipelineResponse<Void> remove(String key) {
+        return queue(() -> {
+            cacheProvider.remove(key);
+            return null;
+        });
+    }
+
+    @Override
+    public PipelineResponse<Void> expire(String key, Long expireTime) {
+        return queue(() -> {
+            cacheProvider.expire(key, expireTime);
+            return null;
+        });
+    }
+
+    @Override
+    public <V> PipelineResponse<V> getHash(String key, String hashKey, Class<V> vClass) {
+        return queue(() -> cacheProvider.getHash(key, hashKey, vClass));
+    }
+
+    @Override
+    public PipelineResponse<Void> setHash(String key, String hashKey, Object value) {
+        return queue(() -> {
+            cacheProvider.setHash(key, hashKey, value);
+            return null;
+        });
+    }
+
+    @Override
+    public PipelineResponse<Void> addAllToSet(String key, Collection<?> values) {
+        return queue(() -> {
+            cacheProvider.addAllToSet(key, values);
+            return null;
+        });
+    }
+
+    @Override
+    public PipelineResponse<Long> incrementHash(String key, String hashKey, long delta) {
+        return queue(() -> cacheProvider.incrementHash(key, hashKey, delta));
+    }
+
+    @Override
+    public PipelineResponse<Integer> getSetSize(String key) {
+        return queue(() -> cacheProvider.getSetSize(key));
+    }
+
+    @Override
+    public PipelineResponse<Long> bitCount(String key) {
+        return queue(() -> cacheProvider.bitCount(key));
+    }
+
+    @Override
+    public PipelineResponse<Void> setBits(String key, BitSet bits) {
+        return queue(() -> {
+            cacheProvider.setBits(key, bits);
+            return null;
+        });
+    }
+
+    @Override
+    public void sync() {
+        try {
+            for (Runnable operation : operations) {
+                operation.run();
+            }
+        } finally {
+            operations.clear();
+        }
+    }
+
+    /**
+     * 操作排队
+     * @param operation 操作
+     * @param <V>       结果类型
+     * @return 结果
+     */
+    private <V> PipelineResponse<V> queue(Callable<V> operation) {
+        PipelineResponse<V> response = new PipelineResponse<>();
+        operations.add(() -> response.set(operation.call()));
+        return response;
+    }
+}
@@ -0,0 +1,47 @@
+package com.nature.distribution.definition;
+
+import com.nature.distribution.model.KeyAndPage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 流式任务（以游标方式逐条提供批次数据，内存占用取决于并发数而不是分页大小）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 10:05
+ */
+public interface StreamingWork<P extends KeyAndPage, D> extends Work<P, D> {
+
+    /**
+     * 以游标方式查询批次需要处理的全部数据
+     * 游标实现AutoCloseable时批次数据提交完成后会被关闭
+     * @param param 执行参数
+     * @return 数据游标
+     */
+    Iterator<D> selectDataCursor(P param);
+
+    /**
+     * 查询批次需要处理的全部数据（一次性读取游标全部数据）
+     * @param param 执行参数
+     * @return 数据
+     */
+    @Override
+    default List<D> selectDataList(P param) {
+        List<D> data = new ArrayList<>();
+        Iterator<D> cursor = selectDataCursor(param);
+        try {
+            cursor.forEachRemaining(data::add);
+        } finally {
+            if (cursor instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) cursor).close();
+                } catch (Exception e) {
+                    throw new RuntimeException("关闭数据游标错误", e);
+                }
+            }
+        }
+        return data;
+    }
+}
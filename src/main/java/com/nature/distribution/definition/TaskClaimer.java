@@ -0,0 +1,55 @@
+package com.nature.distribution.definition;
+
+import com.nature.distribution.model.Keyable;
+
+/**
+ * 任务编号领取者（替代基于缓存计数器与锁的任务编号分配）
+ * 只负责任务编号的分配，批次数据下标、处理进度等仍由缓存提供者保存
+ * 领取的任务编号带租约，持有者定期续约，租约过期未完成的任务可被其他机器重新领取
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 20:10
+ */
+public interface TaskClaimer {
+
+    /**
+     * 初始化任务编号（全部机器均会调用，需要幂等）
+     * @param job       任务
+     * @param taskTotal 任务总数
+     */
+    void init(Keyable job, int taskTotal);
+
+    /**
+     * 领取一个待处理或租约已过期的任务编号
+     * @param job          任务
+     * @param machineNo    机器编号
+     * @param leaseSeconds 租约时间（秒）
+     * @return 任务编号，null表示已无可领取的编号
+     */
+    Integer claim(Keyable job, String machineNo, long leaseSeconds);
+
+    /**
+     * 续约
+     * @param job          任务
+     * @param taskNo       任务编号
+     * @param machineNo    机器编号
+     * @param leaseSeconds 租约时间（秒）
+     * @return 是否续约成功（false表示租约已丢失，任务可能已被其他机器领取）
+     */
+    boolean renew(Keyable job, int taskNo, String machineNo, long leaseSeconds);
+
+    /**
+     * 完成任务编号
+     * @param job       任务
+     * @param taskNo    任务编号
+     * @param machineNo 机器编号
+     */
+    void complete(Keyable job, int taskNo, String machineNo);
+
+    /**
+     * 查询未完成的任务编号数量
+     * @param job 任务
+     * @return 未完成数量
+     */
+    int countUnfinished(Keyable job);
+}
@@ -0,0 +1,18 @@
+package com.nature.distribution.definition;
+
+/**
+ * 更新逻辑
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 15:40
+ */
+@FunctionalInterface
+public interface Updatable<V> {
+
+    /**
+     * 根据原值计算新值
+     * @param value 原值（不存在时为null）
+     * @return 新值（null表示不更新）
+     */
+    V update(V value);
+}
@@ -0,0 +1,70 @@
+package com.nature.distribution.detector;
+
+import com.nature.distribution.definition.FailureDetector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 固定窗口故障检测器（上次心跳距离当前时间超过心跳间隔的倍数即判定宕机，监控器默认使用）
+ * 怀疑程度为距离上次心跳经过的心跳间隔数
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 22:45
+ */
+public class FixedWindowFailureDetector implements FailureDetector {
+
+    /**
+     * 心跳间隔（毫秒）
+     */
+    private volatile long intervalMillis = 3000L;
+    /**
+     * 判定宕机的心跳间隔数（经过的整间隔数大于该值判定宕机）
+     */
+    private volatile int windows = 2;
+    /**
+     * 最近心跳时间（机器编号 -> 心跳时间）
+     */
+    private final Map<String, Long> lastHeartbeats = new ConcurrentHashMap<>();
+
+    /**
+     * 设置判定宕机的心跳间隔数
+     * @param windows 心跳间隔数
+     */
+    public void setWindows(int windows) {
+        if (windows <= 0) {
+            throw new RuntimeException("心跳间隔数必须大于0");
+        }
+        this.windows = windows;
+    }
+
+    @Override
+    public void setHeartbeatInterval(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new RuntimeException("心跳间隔必须大于0");
+        }
+        this.intervalMillis = intervalMillis;
+    }
+
+    @Override
+    public void heartbeat(String machineNo, long heartbeatMillis) {
+        lastHeartbeats.merge(machineNo, heartbeatMillis, Math::max);
+    }
+
+    @Override
+    public double suspicion(String machineNo, long now) {
+        Long last = lastHeartbeats.get(machineNo);
+        return last == null ? 0 : Math.max(now - last, 0) / (double) intervalMillis;
+    }
+
+    @Override
+    public boolean isSuspected(String machineNo, long now) {
+        Long last = lastHeartbeats.get(machineNo);
+        return last != null && (now - last) / intervalMillis > windows;
+    }
+
+    @Override
+    public void remove(String machineNo) {
+        lastHeartbeats.remove(machineNo);
+    }
+}
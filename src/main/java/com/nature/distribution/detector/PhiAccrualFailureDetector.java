@@ -0,0 +1,238 @@
+package com.nature.distribution.detector;
+
+import com.nature.distribution.definition.FailureDetector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * phi累积故障检测器（按每台机器的心跳间隔历史估计正态分布，怀疑程度phi = -log10(此刻之后才收到下次心跳的概率)）
+ * 心跳稳定的机器在略超出平均间隔后即被判定宕机，心跳抖动大（如频繁GC）的机器会自动放宽判定时间
+ * 心跳间隔按心跳中的时间（心跳机器写入时的时钟）计算，不受观察周期（如快照刷新间隔）影响，同一机器的心跳间隔不受机器间时钟差异影响；
+ * 距离上次心跳的经过时间按本机首次观察到最近心跳的时间计算，观察延迟可通过可接受停顿时间覆盖
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 22:50
+ */
+public class PhiAccrualFailureDetector implements FailureDetector {
+
+    /**
+     * 判定宕机的phi阈值（8表示误判概率约为一亿分之一）
+     */
+    private volatile double threshold = 8.0;
+    /**
+     * 心跳间隔历史最大样本数
+     */
+    private volatile int maxSampleSize = 200;
+    /**
+     * 最小标准差（毫秒，避免心跳过于稳定时轻微延迟即被判定宕机）
+     */
+    private volatile long minStdDeviationMillis = 100L;
+    /**
+     * 可接受停顿时间（毫秒，计入平均间隔，用于覆盖已知的停顿与观察延迟）
+     */
+    private volatile long acceptablePauseMillis;
+    /**
+     * 心跳间隔（毫秒，作为首次心跳后的间隔估计）
+     */
+    private volatile long intervalMillis = 3000L;
+    /**
+     * 心跳历史（机器编号 -> 心跳历史）
+     */
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+    /**
+     * 本机时钟（毫秒，记录观察到心跳的时间）
+     */
+    private volatile LongSupplier clock = System::currentTimeMillis;
+
+    /**
+     * 设置判定宕机的phi阈值
+     * @param threshold 阈值
+     */
+    public void setThreshold(double threshold) {
+        if (threshold <= 0) {
+            throw new RuntimeException("阈值必须大于0");
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * 设置心跳间隔历史最大样本数（只对之后新观察到的机器生效）
+     * @param maxSampleSize 最大样本数
+     */
+    public void setMaxSampleSize(int maxSampleSize) {
+        if (maxSampleSize <= 0) {
+            throw new RuntimeException("样本数必须大于0");
+        }
+        this.maxSampleSize = maxSampleSize;
+    }
+
+    /**
+     * 设置最小标准差
+     * @param minStdDeviationMillis 最小标准差（毫秒）
+     */
+    public void setMinStdDeviationMillis(long minStdDeviationMillis) {
+        if (minStdDeviationMillis <= 0) {
+            throw new RuntimeException("最小标准差必须大于0");
+        }
+        this.minStdDeviationMillis = minStdDeviationMillis;
+    }
+
+    /**
+     * 设置可接受停顿时间
+     * @param acceptablePauseMillis 可接受停顿时间（毫秒）
+     */
+    public void setAcceptablePauseMillis(long acceptablePauseMillis) {
+        if (acceptablePauseMillis < 0) {
+            throw new RuntimeException("可接受停顿时间不能小于0");
+        }
+        this.acceptablePauseMillis = acceptablePauseMillis;
+    }
+
+    /**
+     * 设置本机时钟（测试时注入）
+     * @param clock 时钟（毫秒）
+     */
+    void setClock(LongSupplier clock) {
+        if (clock == null) {
+            throw new NullPointerException("clock is null");
+        }
+        this.clock = clock;
+    }
+
+    @Override
+    public void setHeartbeatInterval(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new RuntimeException("心跳间隔必须大于0");
+        }
+        this.intervalMillis = intervalMillis;
+    }
+
+    @Override
+    public void heartbeat(String machineNo, long heartbeatMillis) {
+        History history = histories.computeIfAbsent(machineNo, k -> new History(maxSampleSize));
+        long arrival = clock.getAsLong();
+        synchronized (history) {
+            if (history.lastHeartbeat == 0) {    // 首次心跳以心跳间隔作为初始估计（两个样本，标准差为间隔的四分之一）
+                long interval = intervalMillis;
+                history.add(interval - interval / 4);
+                history.add(interval + interval / 4);
+            } else if (heartbeatMillis > history.lastHeartbeat) {  // 按心跳时间计算间隔，与观察时间无关
+                history.add(heartbeatMillis - history.lastHeartbeat);
+            } else {    // 重复观察到的心跳或较旧的心跳
+                return;
+            }
+            history.lastHeartbeat = heartbeatMillis;
+            history.lastArrival = arrival;
+        }
+    }
+
+    @Override
+    public double suspicion(String machineNo, long now) {
+        History history = histories.get(machineNo);
+        if (history == null) {
+            return 0;
+        }
+        double elapsed, mean, stdDeviation;
+        synchronized (history) {
+            elapsed = Math.max(now - history.lastArrival, 0);
+            mean = history.mean();
+            stdDeviation = history.stdDeviation();
+        }
+        return phi(elapsed, mean + acceptablePauseMillis, Math.max(stdDeviation, minStdDeviationMillis));
+    }
+
+    @Override
+    public boolean isSuspected(String machineNo, long now) {
+        return suspicion(machineNo, now) >= threshold;
+    }
+
+    @Override
+    public void remove(String machineNo) {
+        histories.remove(machineNo);
+    }
+
+    /**
+     * 计算phi（使用逻辑函数近似正态分布的累积分布函数）
+     * @param elapsed      距离上次心跳经过时间
+     * @param mean         平均间隔
+     * @param stdDeviation 标准差
+     * @return phi
+     */
+    private static double phi(double elapsed, double mean, double stdDeviation) {
+        double y = (elapsed - mean) / stdDeviation;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        } else {
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+
+    /**
+     * 单台机器的心跳历史（环形数组保存最近的心跳间隔）
+     */
+    private static class History {
+
+        /**
+         * 心跳间隔
+         */
+        private final long[] intervals;
+        /**
+         * 下一个写入位置
+         */
+        private int index;
+        /**
+         * 样本数
+         */
+        private int size;
+        /**
+         * 间隔之和
+         */
+        private double sum;
+        /**
+         * 间隔平方之和
+         */
+        private double squaredSum;
+        /**
+         * 最近心跳中的时间（心跳机器的时钟，用于识别新心跳及计算心跳间隔，0表示尚无心跳）
+         */
+        private long lastHeartbeat;
+        /**
+         * 最近心跳的本机观察时间
+         */
+        private long lastArrival;
+
+        private History(int maxSampleSize) {
+            this.intervals = new long[maxSampleSize];
+        }
+
+        /**
+         * 添加心跳间隔（超过最大样本数时替换最旧的样本）
+         * @param interval 心跳间隔
+         */
+        private void add(long interval) {
+            if (size == intervals.length) {
+                long oldest = intervals[index];
+                sum -= oldest;
+                squaredSum -= (double) oldest * oldest;
+            } else {
+                size++;
+            }
+            intervals[index] = interval;
+            index = (index + 1) % intervals.length;
+            sum += interval;
+            squaredSum += (double) interval * interval;
+        }
+
+        private double mean() {
+            return sum / size;
+        }
+
+        private double stdDeviation() {
+            double mean = mean();
+            return Math.sqrt(Math.max(squaredSum / size - mean * mean, 0));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.nature.distribution.executor;
+
+import com.nature.distribution.util.AsyncCacheUtil;
+import com.nature.distribution.util.IndexSetUtil;
+import com.nature.distribution.util.TaskKeyUtil;
+import com.nature.distribution.util.TaskKeyUtil.JobKeyspace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 异步写入的进度记录器
+ * 处理结果先记录在本地位图，同一时间只有一次异步写入：写入进行中时新的结果累积，写入完成后合并为下一次写入，
+ * 每次写入使用异步管道一次交互（不支持管道时并发发出）；处理线程不等待缓存交互，未写入的结果数量有上限，达到上限时阻塞处理线程
+ * 同一记录器的写入依次进行，不依赖异步缓存提供者的执行顺序；下标写入可重复，计数增量可交换，写入失败的结果重启后重新处理
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 18:30
+ */
+class AsyncProgressRecorder implements ProgressRecorder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncProgressRecorder.class);
+
+    /**
+     * 正常处理的数据下标集合key
+     */
+    private final String normalIndexKey;
+    /**
+     * 异常处理的数据下标集合key
+     */
+    private final String errorIndexKey;
+    /**
+     * 任务进度map
+     */
+    private final String progressKey;
+    /**
+     * 批次正常处理数hashKey
+     */
+    private final String batchFinishField;
+    /**
+     * 批次异常处理数hashKey
+     */
+    private final String batchErrorField;
+    /**
+     * 是否维护进度计数
+     */
+    private final boolean counting;
+    /**
+     * 未写入结果数量上限
+     */
+    private final int maxPending;
+    /**
+     * 可记录的结果数量
+     */
+    private final Semaphore permits;
+    /**
+     * 未写入的正常处理下标
+     */
+    private BitSet pendingNormal = new BitSet();
+    /**
+     * 未写入的异常处理下标
+     */
+    private BitSet pendingError = new BitSet();
+    /**
+     * 是否有写入进行中
+     */
+    private boolean writing;
+
+    AsyncProgressRecorder(JobKeyspace keys, int taskNo, int maxPending) {
+        this.normalIndexKey = keys.normalIndexSet(taskNo);
+        this.errorIndexKey = keys.errorIndexSet(taskNo);
+        this.progressKey = keys.getProgressMap();
+        this.batchFinishField = TaskKeyUtil.batchFinishField(taskNo);
+        this.batchErrorField = TaskKeyUtil.batchErrorField(taskNo);
+        this.counting = AsyncCacheUtil.supportsAtomicIncrement();
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    @Override
+    public void record(int index, boolean success) {
+        permits.acquireUninterruptibly();
+        BitSet normal;
+        BitSet error;
+        synchronized (this) {
+            (success ? pendingNormal : pendingError).set(index);
+            if (writing) {  // 写入进行中，完成后合并写入
+                return;
+            }
+            writing = true;
+            normal = pendingNormal;
+            error = pendingError;
+            pendingNormal = new BitSet();
+            pendingError = new BitSet();
+        }
+        write(normal, error);
+    }
+
+    /**
+     * 异步写入一批结果，完成后继续写入期间累积的结果
+     * @param normal 正常处理下标
+     * @param error  异常处理下标
+     */
+    private void write(BitSet normal, BitSet error) {
+        int count = normal.cardinality() + error.cardinality();
+        CompletableFuture<?> written;
+        try {
+            written = send(normal, error);
+        } catch (RuntimeException e) {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            written = failed;
+        }
+        written.whenComplete((r, t) -> {
+            if (t != null) {    // 写入失败的结果重启后重新处理即可
+                LOG.error(String.format("处理进度写入缓存错误 %s 条", count), t);
+            }
+            BitSet nextNormal = null;
+            BitSet nextError = null;
+            synchronized (this) {
+                if (pendingNormal.isEmpty() && pendingError.isEmpty()) {
+                    writing = false;
+                } else {
+                    nextNormal = pendingNormal;
+                    nextError = pendingError;
+                    pendingNormal = new BitSet();
+                    pendingError = new BitSet();
+                }
+            }
+            permits.release(count);
+            if (nextNormal != null) {
+                write(nextNormal, nextError);
+            }
+        });
+    }
+
+    /**
+     * 发出一批结果的写入
+     * @param normal 正常处理下标
+     * @param error  异常处理下标
+     * @return 完成结果
+     */
+    private CompletableFuture<?> send(BitSet normal, BitSet error) {
+        int finish = normal.cardinality();
+        int errorTotal = error.cardinality();
+        if (AsyncCacheUtil.supportsPipeline()) {    // 下标与进度计数一次交互写入
+            return AsyncCacheUtil.pipelined(pipeline -> {
+                IndexSetUtil.addAll(pipeline, normalIndexKey, normal);
+                IndexSetUtil.addAll(pipeline, errorIndexKey, error);
+                if (counting && finish > 0) {
+                    pipeline.incrementHash(progressKey, batchFinishField, finish);
+                    pipeline.incrementHash(progressKey, TaskKeyUtil.PROGRESS_FINISH, finish);
+                }
+                if (counting && errorTotal > 0) {
+                    pipeline.incrementHash(progressKey, batchErrorField, errorTotal);
+                    pipeline.incrementHash(progressKey, TaskKeyUtil.PROGRESS_ERROR, errorTotal);
+                }
+            });
+        }
+        CompletableFuture<?> written = CompletableFuture.allOf(IndexSetUtil.addAllAsync(normalIndexKey, normal),
+                IndexSetUtil.addAllAsync(errorIndexKey, error));
+        if (counting && finish > 0) {
+            written = CompletableFuture.allOf(written,
+                    AsyncCacheUtil.incrementHash(progressKey, batchFinishField, finish),
+                    AsyncCacheUtil.incrementHash(progressKey, TaskKeyUtil.PROGRESS_FINISH, finish));
+        }
+        if (counting && errorTotal > 0) {
+            written = CompletableFuture.allOf(written,
+                    AsyncCacheUtil.incrementHash(progressKey, batchErrorField, errorTotal),
+                    AsyncCacheUtil.incrementHash(progressKey, TaskKeyUtil.PROGRESS_ERROR, errorTotal));
+        }
+        return written;
+    }
+
+    @Override
+    public void close() {
+        permits.acquireUninterruptibly(maxPending);   // 取回全部许可即全部结果已写入
+        permits.release(maxPending);
+    }
+}
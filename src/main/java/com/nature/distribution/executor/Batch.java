@@ -0,0 +1,65 @@
+package com.nature.distribution.executor;
+
+import com.nature.distribution.model.KeyAndPage;
+import com.nature.distribution.util.TaskKeyUtil.JobKeyspace;
+
+/**
+ * 处理中的批次
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 09:20
+ */
+class Batch<P extends KeyAndPage> {
+
+    /**
+     * 批次参数（页码即任务编号）
+     */
+    private final P param;
+    /**
+     * 任务key空间
+     */
+    private final JobKeyspace keyspace;
+    /**
+     * 处理中数据窗口
+     */
+    private final InFlightWindow window;
+    /**
+     * 处理进度记录器
+     */
+    private final ProgressRecorder recorder;
+    /**
+     * 批次数据总数（流式任务在数据全部提交后才能确定）
+     */
+    private int total;
+
+    Batch(P param, JobKeyspace keyspace, InFlightWindow window, ProgressRecorder recorder) {
+        this.param = param;
+        this.keyspace = keyspace;
+        this.window = window;
+        this.recorder = recorder;
+    }
+
+    P getParam() {
+        return param;
+    }
+
+    JobKeyspace getKeyspace() {
+        return keyspace;
+    }
+
+    InFlightWindow getWindow() {
+        return window;
+    }
+
+    ProgressRecorder getRecorder() {
+        return recorder;
+    }
+
+    int getTotal() {
+        return total;
+    }
+
+    void setTotal(int total) {
+        this.total = total;
+    }
+}
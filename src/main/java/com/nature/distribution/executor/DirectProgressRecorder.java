@@ -0,0 +1,67 @@
+package com.nature.distribution.executor;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.util.CacheUtil;
+import com.nature.distribution.util.IndexSetUtil;
+import com.nature.distribution.util.TaskKeyUtil;
+import com.nature.distribution.util.TaskKeyUtil.JobKeyspace;
+
+/**
+ * 直接写入的进度记录器（每条处理结果同步写入缓存，支持原子递增时与进度计数一次交互写入）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 11:22
+ */
+class DirectProgressRecorder implements ProgressRecorder {
+
+    /**
+     * 正常处理的数据下标集合key
+     */
+    private final String normalIndexKey;
+    /**
+     * 异常处理的数据下标集合key
+     */
+    private final String errorIndexKey;
+    /**
+     * 任务进度map
+     */
+    private final String progressKey;
+    /**
+     * 批次正常处理数hashKey
+     */
+    private final String batchFinishField;
+    /**
+     * 批次异常处理数hashKey
+     */
+    private final String batchErrorField;
+    /**
+     * 是否维护进度计数
+     */
+    private final boolean counting;
+
+    DirectProgressRecorder(JobKeyspace keys, int taskNo) {
+        this.normalIndexKey = keys.normalIndexSet(taskNo);
+        this.errorIndexKey = keys.errorIndexSet(taskNo);
+        this.progressKey = keys.getProgressMap();
+        this.batchFinishField = TaskKeyUtil.batchFinishField(taskNo);
+        this.batchErrorField = TaskKeyUtil.batchErrorField(taskNo);
+        this.counting = CacheUtil.supportsAtomicIncrement();
+    }
+
+    @Override
+    public void record(int index, boolean success) {
+        if (!counting) {
+            IndexSetUtil.add(success ? normalIndexKey : errorIndexKey, index);
+            return;
+        }
+        CachePipeline pipeline = CacheUtil.pipelined();
+        IndexSetUtil.add(pipeline, success ? normalIndexKey : errorIndexKey, index);
+        pipeline.incrementHash(progressKey, success ? batchFinishField : batchErrorField, 1);
+        pipeline.incrementHash(progressKey, success ? TaskKeyUtil.PROGRESS_FINISH : TaskKeyUtil.PROGRESS_ERROR, 1);
+        pipeline.sync();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -1,20 +1,25 @@
 package com.nature.distribution.executor;
 
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.ChunkWork;
 import com.nature.distribution.definition.Executor;
 import com.nature.distribution.definition.ExecutorWatcher;
+import com.nature.distribution.definition.StreamingWork;
+import com.nature.distribution.definition.TaskClaimer;
 import com.nature.distribution.definition.Work;
+import com.nature.distribution.model.ChunkResult;
+import com.nature.distribution.model.Copyable;
 import com.nature.distribution.model.KeyAndPage;
+import com.nature.distribution.model.PipelineResponse;
 import com.nature.distribution.model.TaskInfo;
 import com.nature.distribution.util.*;
+import com.nature.distribution.util.TaskKeyUtil.JobKeyspace;
 import com.nature.distribution.watcher.CommonExecutorWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -34,11 +39,60 @@ public class DistributionExecutor implements Executor {
      * 任务查询间隔，这个时间应该比每一批任务执行时间较短
      */
     private static final int SLEEP_SECONDS = 1;
+    /**
+     * 完成计数连续无变化多少次后全量校正
+     */
+    private static final int RECONCILE_STALLED_POLLS = 30;
 
     /**
      * 线程池（后续改成使用容器管理的）
      */
     private ThreadPoolExecutor executor;
+    /**
+     * 是否无锁领取任务编号（基于原子递增领取，只有回收宕机机器的任务编号时才竞争锁）
+     * 同一任务的全部机器需要使用相同的领取方式
+     */
+    private boolean lockFreeClaim;
+    /**
+     * 任务编号领取者（设置后由领取者分配任务编号，优先于其他领取方式）
+     */
+    private TaskClaimer taskClaimer;
+    /**
+     * 任务编号租约时间（秒）
+     */
+    private long taskLeaseSeconds = 60L;
+    /**
+     * 预取深度（大于0时开启流水线模式：当前批次处理的同时领取并查询后续批次，参数需要实现Copyable）
+     */
+    private int prefetchDepth;
+    /**
+     * 流式任务处理中数据窗口大小（小于等于0时使用线程池最大线程数的两倍，批量处理任务按块计数）
+     */
+    private int streamingWindow;
+    /**
+     * 批量处理任务每块数据数量
+     */
+    private int chunkSize = 100;
+    /**
+     * 是否延迟写入处理进度（先记录在本地位图，后台批量写入缓存）
+     */
+    private boolean writeBehindProgress;
+    /**
+     * 是否异步写入处理进度（需要设置异步缓存提供者）
+     */
+    private boolean asyncProgress;
+    /**
+     * 异步写入处理进度时未完成写入数量上限
+     */
+    private int asyncProgressLimit = 1000;
+    /**
+     * 延迟写入处理进度的时间间隔（毫秒）
+     */
+    private long progressFlushInterval = 1000L;
+    /**
+     * 延迟写入处理进度的数量阈值
+     */
+    private int progressFlushThreshold = 1000;
     /**
      * 锁
      */
@@ -54,17 +108,39 @@ public class DistributionExecutor implements Executor {
         String key = param.genKey();
         makeSureSingletonRunning(key);                                  //  确保只有一个实例执行（防止重复提交等问题）
         try {
-            CacheUtil.delete(TaskKeyUtil.stopFlag(param));              // 开始先删除停止标记
-
-            String lockKey = TaskKeyUtil.genLockKey(key);               // 操作锁key
-            DistributionExecuteUtil.asynchronouslyExecute(lockKey, SLEEP_SECONDS,
-                    () -> isCompleted(work, param),                            // 查询任务是否已经处理完成
-                    () -> calculateTaskNo(work, param),                        // 计算任务编号
-                    (taskNo) -> {                                       // 按任务编号分批执行
-                        param.setPageNum(taskNo);
-                        doBatchTask(work, param);
-                    }
-            );
+            JobKeyspace keys = TaskKeyUtil.keyspace(param);             // 任务全部key只生成一次
+            CacheUtil.delete(keys.getStopFlag());                       // 开始先删除停止标记
+            invalidateLocalTotals(keys);                                // 重新开始时清除本地缓存的总数
+
+            String lockKey = keys.getLockKey();                         // 操作锁key
+            if (taskClaimer == null && prefetchDepth > 0 && !(param instanceof Copyable)) {
+                LOG.warn(String.format("参数 %s 未实现Copyable，预取深度 %s 不生效，按非流水线方式执行",
+                        param.getClass().getName(), prefetchDepth));
+            }
+            if (taskClaimer != null) {
+                claimerExecute(work, param, keys);                      // 由领取者分配任务编号
+            } else if (prefetchDepth > 0 && param instanceof Copyable) {
+                pipelinedExecute(work, param, keys);                    // 流水线执行
+            } else if (lockFreeClaim) {
+                DistributionExecuteUtil.asynchronouslyExecute(lockKey, SLEEP_SECONDS,
+                        () -> isCompleted(work, param, keys),                  // 查询任务是否已经处理完成
+                        () -> claimTaskNo(work, param, keys),                  // 无锁领取任务编号
+                        () -> recoverTaskNo(param),                            // 回收宕机机器的任务编号
+                        (taskNo) -> {                                   // 按任务编号分批执行
+                            param.setPageNum(taskNo);
+                            doBatchTask(work, param, keys);
+                        }
+                );
+            } else {
+                DistributionExecuteUtil.asynchronouslyExecute(lockKey, SLEEP_SECONDS,
+                        () -> isCompleted(work, param, keys),                  // 查询任务是否已经处理完成
+                        () -> calculateTaskNo(work, param, keys),              // 计算任务编号
+                        (taskNo) -> {                                   // 按任务编号分批执行
+                            param.setPageNum(taskNo);
+                            doBatchTask(work, param, keys);
+                        }
+                );
+            }
         } finally {
             works.remove(key);                                          // 执行器标记为非执行中
         }
@@ -79,7 +155,7 @@ public class DistributionExecutor implements Executor {
         // 1.执行
         execute(work, param);
         // 2.执行完成后等待直到所有机器处理完成
-        waitUntilAllDone(param);
+        waitUntilAllDone(param, TaskKeyUtil.keyspace(param));
     }
 
     /**
@@ -89,150 +165,513 @@ public class DistributionExecutor implements Executor {
     @Override
     public <P extends KeyAndPage> void stop(P param) {
         // 缓存中增加任务停止标记
-        CacheUtil.set(TaskKeyUtil.stopFlag(param), true);
+        JobKeyspace keys = TaskKeyUtil.keyspace(param);
+        CacheUtil.set(keys.getStopFlag(), true);
+        invalidateLocalTotals(keys);
+    }
+
+    /**
+     * 清除本地缓存的数据总数及任务总数
+     * @param keys 任务key空间
+     */
+    private void invalidateLocalTotals(JobKeyspace keys) {
+        CacheUtil.invalidateLocal(keys.getTaskTotal());
+        CacheUtil.invalidateLocal(keys.getDataTotal());
     }
 
     /**
-     * 等待直到全部执行完成
+     * 等待直到全部执行完成（只读查询，不竞争任务锁，避免阻塞其他机器领取任务）
+     * 每次只查询完成计数，完成计数长时间无变化时（如批次完成后计数前宕机）全量扫描任务信息校正一次
      * @param param 参数
+     * @param keys  任务key空间
+     * @param <P>   参数类型
      */
-    private <P extends KeyAndPage> void waitUntilAllDone(P param) {
-        String lockKey = TaskKeyUtil.genLockKey(param.genKey());
+    private <P extends KeyAndPage> void waitUntilAllDone(P param, JobKeyspace keys) {
+        long lastDone = -1;
+        int stalled = 0;    // 完成计数连续无变化次数
         while (true) {
-            AtomicBoolean done = new AtomicBoolean(true);           // 标记是否处理完成
-            DistributionExecuteUtil.synchronouslyExecute(lockKey, () -> {
-                // 查询任务停止标记
-                Boolean stopFlag = CacheUtil.get(TaskKeyUtil.stopFlag(param), boolean.class);
-                if (stopFlag != null && stopFlag) {
-                    done.set(true);
+            CachePipeline pipeline = CacheUtil.pipelined();     // 停止标记、任务总数及完成计数一次交互查询
+            PipelineResponse<Object> stopFlag = pipeline.get(keys.getStopFlag());
+            PipelineResponse<Object> taskTotal = pipeline.get(keys.getTaskTotal());
+            PipelineResponse<? extends Number> done = IndexSetUtil.size(pipeline, keys.getDoneTaskSet());
+            pipeline.sync();
+            if (Boolean.TRUE.equals(stopFlag.get())) {
+                return;
+            }
+            long doneCount = done.get().longValue();
+            if (taskTotal.get() == null || doneCount >= ((Number) taskTotal.get()).longValue()) {
+                return;
+            }
+            if (doneCount != lastDone) {
+                lastDone = doneCount;
+                stalled = 0;
+            } else if (++stalled >= RECONCILE_STALLED_POLLS) {
+                stalled = 0;
+                if (CommonExecutorWatcher.getInstance().reconcileCompletion(param)) {
                     return;
                 }
-                List<Object> objects = CacheUtil.getMapValues(TaskKeyUtil.taskInfoMap(param));  // 获取全部任务数据
-                for (Object object : objects) {
-                    int status = ((TaskInfo) object).getStatus();
-                    if (status != TaskInfo.STATUS_FINISH) { // 未完成任务查询进度
-                        done.set(false);
-                        break;
+            }
+            SleepUtil.sleepSeconds(SLEEP_SECONDS);
+        }
+    }
+
+    /**
+     * 流水线执行（当前批次处理的同时领取并查询后续批次，保持线程池饱和）
+     * @param work    任务
+     * @param param   参数
+     * @param keys    任务key空间
+     * @param <P>     参数类型
+     * @param <D>     数据
+     */
+    @SuppressWarnings("unchecked")
+    private <P extends KeyAndPage, D> void pipelinedExecute(Work<P, D> work, P param, JobKeyspace keys) {
+        Deque<Batch<P>> batches = new ArrayDeque<>(prefetchDepth + 1);    // 处理中的批次，按领取顺序
+        boolean exhausted = false;  // 是否已无可领取的任务编号
+        try {
+            do {
+                while (!exhausted && batches.size() <= prefetchDepth) {     // 预取直到达到预取深度
+                    Integer taskNo = isCompleted(work, param, keys) ? null : nextTaskNo(work, param, keys);
+                    if (taskNo == null) {
+                        exhausted = true;
+                    } else {
+                        P batchParam = ((Copyable<P>) param).copy();        // 每个批次独立参数，避免页码互相覆盖
+                        batchParam.setPageNum(taskNo);
+                        try {
+                            batches.addLast(startBatch(work, batchParam, keys));
+                        } catch (RuntimeException e) {
+                            releaseTask(batchParam, keys);  // 开始失败的批次已领取，释放后由其他机器回收
+                            throw e;
+                        }
                     }
                 }
-            });
-            if (done.get()) {
-                break;
-            } else {
+                Batch<P> batch = batches.peekFirst();
+                if (batch != null) {
+                    finishBatch(batch);     // 等待最早的批次处理完成，后续批次仍在线程池中处理
+                    batches.pollFirst();
+                }
+            } while (!exhausted || !batches.isEmpty());
+        } finally {
+            drainBatches(batches);
+        }
+    }
+
+    /**
+     * 清理异常退出时未结束的批次：等待已提交数据处理完成并写入进度，释放批次的任务编号
+     * @param batches 未结束的批次
+     * @param <P>     参数类型
+     */
+    private <P extends KeyAndPage> void drainBatches(Deque<Batch<P>> batches) {
+        Batch<P> batch;
+        while ((batch = batches.pollFirst()) != null) {
+            try {
+                batch.getWindow().awaitEmpty();
+                batch.getRecorder().close();
+            } catch (RuntimeException e) {
+                LOG.error(String.format("批次 %s 写入处理进度错误", batch.getParam()), e);
+            }
+            try {
+                releaseTask(batch.getParam(), batch.getKeyspace());
+            } catch (RuntimeException e) {  // 释放失败时本机停止心跳后仍会被回收
+                LOG.error(String.format("批次 %s 释放任务编号错误", batch.getParam()), e);
+            }
+        }
+    }
+
+    /**
+     * 释放本机领取的未完成任务（清除持有机器，回收时优先领取，已处理的数据下标保留）
+     * @param param 批次参数
+     * @param keys  任务key空间
+     * @param <P>   参数类型
+     */
+    private <P extends KeyAndPage> void releaseTask(P param, JobKeyspace keys) {
+        String machineNo = ApplicationUtil.getApplicationUniqueKey();
+        CacheUtil.updateHash(keys.getTaskInfoMap(), String.valueOf(param.getPageNum()), TaskInfo.class, taskInfo -> {
+            if (taskInfo == null || taskInfo.getStatus() == TaskInfo.STATUS_FINISH
+                    || !machineNo.equals(taskInfo.getMachineNo())) {
+                return null;    // 已完成或已被其他机器回收则不处理
+            }
+            taskInfo.setMachineNo(null);
+            return taskInfo;
+        });
+        LOG.info(String.format("释放任务编号 %s", param.getPageNum()));
+    }
+
+    /**
+     * 由任务编号领取者分配任务编号执行（领取不需要竞争锁，租约过期的任务编号由领取者重新分配，批次处理及进度仍使用缓存）
+     * @param work  任务
+     * @param param 参数
+     * @param keys  任务key空间
+     * @param <P>   参数类型
+     * @param <D>   数据
+     */
+    private <P extends KeyAndPage, D> void claimerExecute(Work<P, D> work, P param, JobKeyspace keys) {
+        int taskTotal = selectTaskTotal(work, param, keys);
+        if (taskTotal <= 0) {
+            return;
+        }
+        taskClaimer.init(param, taskTotal);
+        String machineNo = ApplicationUtil.getApplicationUniqueKey();
+        while (!isStopped(keys)) {
+            Integer taskNo = taskClaimer.claim(param, machineNo, taskLeaseSeconds);
+            if (taskNo == null) {
+                // 已无可领取的编号但仍有未完成的任务（如宕机机器持有的租约未过期），等待租约过期后重新领取
+                if (taskClaimer.countUnfinished(param) <= 0) {
+                    break;
+                }
                 SleepUtil.sleepSeconds(SLEEP_SECONDS);
+                continue;
+            }
+            LOG.info(String.format("领取任务编号 %s", taskNo));
+            param.setPageNum(taskNo);
+            TaskLeaseRenewer renewer = new TaskLeaseRenewer(taskClaimer, param, taskNo, machineNo, taskLeaseSeconds);
+            try {
+                doBatchTask(work, param, keys);
+            } finally {
+                renewer.cancel();
             }
+            taskClaimer.complete(param, taskNo, machineNo);
         }
     }
 
+    /**
+     * 查询任务是否已停止
+     * @param keys 任务key空间
+     * @return true：已停止
+     */
+    private boolean isStopped(JobKeyspace keys) {
+        Boolean stopFlag = CacheUtil.get(keys.getStopFlag(), boolean.class);
+        return stopFlag != null && stopFlag;
+    }
+
+    /**
+     * 领取下一个任务编号（流水线模式使用）
+     * @param work    任务
+     * @param param   参数
+     * @param keys    任务key空间
+     * @param <P>     参数类型
+     * @param <D>     数据类型
+     * @return 任务编号，null表示已无可领取的编号
+     */
+    private <P extends KeyAndPage, D> Integer nextTaskNo(Work<P, D> work, P param, JobKeyspace keys) {
+        if (lockFreeClaim) {
+            Integer taskNo = claimTaskNo(work, param, keys);
+            if (taskNo != null) {
+                return taskNo;
+            }
+            return DistributionExecuteUtil.synchronouslyExecute(keys.getLockKey(), () -> recoverTaskNo(param));
+        }
+        return DistributionExecuteUtil.synchronouslyExecute(keys.getLockKey(),
+                () -> calculateTaskNo(work, param, keys));
+    }
+
     /**
      * 批量执行
      * @param work  任务
      * @param param 参数
+     * @param keys  任务key空间
      * @param <P>   参数类型
      * @param <D>   数据
      */
-    private <P extends KeyAndPage, D> void doBatchTask(Work<P, D> work, P param) {
-        initTaskInfoToCache(param);      // 1.初始化任务信息至缓存
-        int pageSize = param.getPageSize();
+    private <P extends KeyAndPage, D> void doBatchTask(Work<P, D> work, P param, JobKeyspace keys) {
+        finishBatch(startBatch(work, param, keys));
+    }
+
+    /**
+     * 开始批次：查询批次数据并提交至线程池
+     * @param work  任务
+     * @param param 参数
+     * @param keys  任务key空间
+     * @param <P>   参数类型
+     * @param <D>   数据
+     * @return 处理中的批次
+     */
+    @SuppressWarnings("unchecked")
+    private <P extends KeyAndPage, D> Batch<P> startBatch(Work<P, D> work, P param, JobKeyspace keys) {
+        initTaskInfoToCache(param, keys);      // 1.初始化任务信息至缓存
         LOG.info(String.format("批次执行参数 %s", param));
 
-        String normalIndexKey = TaskKeyUtil.normalIndexSet(param, param.getPageNum());
-        String errorIndexKey = TaskKeyUtil.errorIndexSet(param, param.getPageNum());
-        List<D> data = work.selectDataList(param);  // 查询获取本批次需要处理的全部数据
-        boolean isRestart = false;
-        if (!CacheUtil.hasKey(normalIndexKey)) {   // 判断是否任务重启
-            isRestart = true;
+        String normalIndexKey = keys.normalIndexSet(param.getPageNum());
+        String errorIndexKey = keys.errorIndexSet(param.getPageNum());
+        boolean streaming = work instanceof StreamingWork;
+        Iterator<D> cursor;
+        int total = 0;
+        if (streaming) {    // 流式任务按窗口限制处理中的数据量，数据总数在全部提交后确定
+            cursor = ((StreamingWork<P, D>) work).selectDataCursor(param);
+        } else {
+            List<D> data = work.selectDataList(param);  // 查询获取本批次需要处理的全部数据
+            cursor = data.iterator();
+            total = data.size();
         }
-        int dataTotal = data.size();
-
-        updateTaskInfoToCache(param, dataTotal); // 2.更新缓存中的任务信息
-        List<Future<?>> futures = new ArrayList<>(pageSize);    // 阻塞线程使用
+        Batch<P> batch = null;
         int counter = 0;
-        for (D datum : data) {
-            final int index = (++counter);
-            if (isRestart) {
-                boolean hasInSet = CacheUtil.hasInSet(normalIndexKey, index);
-                if (hasInSet) {   // 已处理过的任务不在处理
+        try {   // 游标打开后的缓存交互均在try中，失败时关闭游标及已创建的记录器
+            BitSet processed = null;    // 已处理过的数据下标
+            if (CacheUtil.hasKey(normalIndexKey)) {    // 判断是否任务重启，重启则一次性加载已处理过的数据下标
+                processed = loadProcessedIndexes(normalIndexKey);
+            }
+
+            updateTaskInfoToCache(param, keys, total); // 2.更新缓存中的任务信息
+            batch = new Batch<>(param, keys, new InFlightWindow(streaming ? getStreamingWindow() : 0),
+                    newProgressRecorder(keys, param.getPageNum()));
+            InFlightWindow window = batch.getWindow();
+            ProgressRecorder recorder = batch.getRecorder();
+            boolean chunked = work instanceof ChunkWork;
+            List<D> chunk = chunked ? new ArrayList<>(chunkSize) : null;
+            int[] chunkIndexes = chunked ? new int[chunkSize] : null;
+            while (cursor.hasNext()) {
+                D datum = cursor.next();
+                final int index = (++counter);
+                if (processed != null && processed.get(index)) {   // 已处理过的任务不在处理
                     continue;
                 }
+                if (chunked) {  // 凑满一块再提交
+                    chunkIndexes[chunk.size()] = index;
+                    chunk.add(datum);
+                    if (chunk.size() == chunkSize) {
+                        submitChunk(window, recorder, (ChunkWork<P, D>) work, param, chunk, chunkIndexes);
+                        chunk = new ArrayList<>(chunkSize);
+                        chunkIndexes = new int[chunkSize];
+                    }
+                    continue;
+                }
+                submit(window, () -> {
+                    try {
+                        work.handleDatum(param, datum);  // 处理逻辑需要支持重试，如果不支持可能因为重试导致数据不准确
+                    } catch (Throwable t) {
+                        recorder.record(index, false);      // 记录异常数据
+                        LOG.error("处理数据错误", t);
+                        return;
+                    }
+                    recorder.record(index, true);    // 处理完数据进行记录
+                });
+            }
+            if (chunked && !chunk.isEmpty()) {  // 提交最后不满一块的数据
+                submitChunk(window, recorder, (ChunkWork<P, D>) work, param, chunk, chunkIndexes);
             }
-            Future<?> future = getExecutor().submit(() -> {
+        } catch (RuntimeException e) {  // 提交失败时等待已提交的数据处理完成并写入进度
+            if (batch != null) {
+                batch.getWindow().awaitEmpty();
+                batch.getRecorder().close();
+            }
+            throw e;
+        } finally {
+            if (streaming) {
+                closeCursor(cursor);
+            }
+        }
+        batch.setTotal(counter);
+        return batch;
+    }
+
+    /**
+     * 提交一块数据的批量处理至线程池
+     * @param window   处理中数据窗口
+     * @param recorder 处理进度记录器
+     * @param work     批量处理任务
+     * @param param    参数
+     * @param chunk    数据块
+     * @param indexes  数据块中每条数据的下标
+     * @param <P>      参数类型
+     * @param <D>      数据类型
+     */
+    private <P extends KeyAndPage, D> void submitChunk(InFlightWindow window, ProgressRecorder recorder,
+                                                       ChunkWork<P, D> work, P param, List<D> chunk, int[] indexes) {
+        submit(window, () -> {
+            ChunkResult result;
+            try {
+                result = work.handleChunk(param, chunk);  // 处理逻辑需要支持重试，如果不支持可能因为重试导致数据不准确
+            } catch (Throwable t) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    recorder.record(indexes[i], false);     // 整块记录为异常数据
+                }
+                LOG.error("批量处理数据错误", t);
+                return;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                recorder.record(indexes[i], result == null || !result.isError(i));  // 记录处理结果
+            }
+        });
+    }
+
+    /**
+     * 提交数据处理至线程池，窗口已满时阻塞
+     * @param window 处理中数据窗口
+     * @param task   处理逻辑
+     */
+    private void submit(InFlightWindow window, Runnable task) {
+        window.acquire();
+        try {
+            getExecutor().execute(() -> {
                 try {
-                    work.handleDatum(param, datum);  // 处理逻辑需要支持重试，如果不支持可能因为重试导致数据不准确
-                } catch (Throwable t) {
-                    CacheUtil.addToSet(errorIndexKey, index);      // 记录异常数据
-                    throw t;                    // 异常继续传递，以便于后续日志打印
+                    task.run();
+                } finally {
+                    window.release();
                 }
-                CacheUtil.addToSet(normalIndexKey, index);    // 处理完数据进行记录
             });
-            futures.add(future);
+        } catch (RuntimeException e) {  // 线程池拒绝等提交失败的情况需要释放窗口
+            window.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 一次性加载已处理过的数据下标
+     * @param normalIndexKey 正常处理的数据下标集合key
+     * @return 已处理过的数据下标
+     */
+    private BitSet loadProcessedIndexes(String normalIndexKey) {
+        BitSet processed = IndexSetUtil.load(normalIndexKey);
+        LOG.info(String.format("批次重启，已处理数据 %s 条", processed.cardinality()));
+        return processed;
+    }
+
+    /**
+     * 创建批次处理进度记录器
+     * @param keys   任务key空间
+     * @param taskNo 任务编号
+     * @return 处理进度记录器
+     */
+    private ProgressRecorder newProgressRecorder(JobKeyspace keys, int taskNo) {
+        if (writeBehindProgress) {
+            return new WriteBehindProgressRecorder(keys, taskNo, progressFlushInterval, progressFlushThreshold);
+        }
+        if (asyncProgress) {
+            return new AsyncProgressRecorder(keys, taskNo, asyncProgressLimit);
+        }
+        return new DirectProgressRecorder(keys, taskNo);
+    }
+
+    /**
+     * 关闭数据游标
+     * @param cursor 数据游标
+     */
+    private void closeCursor(Iterator<?> cursor) {
+        if (cursor instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) cursor).close();
+            } catch (Exception e) {
+                LOG.error("关闭数据游标错误", e);
+            }
         }
+    }
 
-        blockMainThread(futures);    // 3.阻塞主线程
-        finishThisBatch(param);  // 4.任务完成状态更新入缓存
+    /**
+     * 结束批次：等待批次数据处理完成并更新任务状态
+     * @param batch 处理中的批次
+     * @param <P>   参数类型
+     */
+    private <P extends KeyAndPage> void finishBatch(Batch<P> batch) {
+        batch.getWindow().awaitEmpty();                     // 3.阻塞主线程
+        batch.getRecorder().close();                        // 确保处理进度全部写入缓存
+        finishThisBatch(batch.getParam(), batch.getKeyspace(), batch.getTotal()); // 4.任务完成状态更新入缓存
     }
 
     /**
      * 初始化任务信息至缓存
      * @param param 执行参数
+     * @param keys  任务key空间
      */
-    private <P extends KeyAndPage> void initTaskInfoToCache(P param) {
+    private <P extends KeyAndPage> void initTaskInfoToCache(P param, JobKeyspace keys) {
         TaskInfo taskInfo = new TaskInfo();
         taskInfo.setStartTime(new Date());
         taskInfo.setTaskNo(param.getPageNum());
         taskInfo.setMachineNo(ApplicationUtil.getApplicationUniqueKey());
-        String key = TaskKeyUtil.taskInfoMap(param);
-        CacheUtil.setHash(key, String.valueOf(param.getPageNum()), taskInfo);
+        CacheUtil.setHash(keys.getTaskInfoMap(), String.valueOf(param.getPageNum()), taskInfo);
     }
 
     /**
      * 批次开始处理更新任务状态为处理中
      * @param param 执行参数
+     * @param keys  任务key空间
      * @param total 批次处理数据总数
      */
-    private <P extends KeyAndPage> void updateTaskInfoToCache(P param, int total) {
-        String taskInfoMapKey = TaskKeyUtil.taskInfoMap(param);
-        String taskNo = String.valueOf(param.getPageNum());
-        TaskInfo taskInfo = CacheUtil.getHash(taskInfoMapKey, taskNo, TaskInfo.class);
-        taskInfo.setStatus(TaskInfo.STATUS_HANDLING);
-        taskInfo.setTotal(total);
-        taskInfo.setMachineNo(ApplicationUtil.getApplicationUniqueKey());
-        CacheUtil.setHash(taskInfoMapKey, String.valueOf(param.getPageNum()), taskInfo);
+    private <P extends KeyAndPage> void updateTaskInfoToCache(P param, JobKeyspace keys, int total) {
+        String taskInfoMapKey = keys.getTaskInfoMap();
+        String machineNo = ApplicationUtil.getApplicationUniqueKey();
+        CacheUtil.updateHash(taskInfoMapKey, String.valueOf(param.getPageNum()), TaskInfo.class, taskInfo -> {
+            if (taskInfo == null) {
+                taskInfo = new TaskInfo();
+                taskInfo.setTaskNo(param.getPageNum());
+                taskInfo.setStartTime(new Date());
+            }
+            taskInfo.setStatus(TaskInfo.STATUS_HANDLING);
+            taskInfo.setTotal(total);
+            taskInfo.setMachineNo(machineNo);
+            return taskInfo;
+        });
     }
 
     /**
      * 任务完成状态更新入缓存
      * @param param 参数
+     * @param keys  任务key空间
+     * @param total 批次处理数据总数
      * @param <P>   参数类型
      */
-    private <P extends KeyAndPage> void finishThisBatch(P param) {
-        String normalIndexKey = TaskKeyUtil.normalIndexSet(param, param.getPageNum());
-        String errorIndexKey = TaskKeyUtil.errorIndexSet(param, param.getPageNum());
-        String taskInfoMapKey = TaskKeyUtil.taskInfoMap(param);
+    private <P extends KeyAndPage> void finishThisBatch(P param, JobKeyspace keys, int total) {
+        String normalIndexKey = keys.normalIndexSet(param.getPageNum());
+        String errorIndexKey = keys.errorIndexSet(param.getPageNum());
+        String taskInfoMapKey = keys.getTaskInfoMap();
+        String progressKey = keys.getProgressMap();
+        String batchFinishField = TaskKeyUtil.batchFinishField(param.getPageNum());
+        String batchErrorField = TaskKeyUtil.batchErrorField(param.getPageNum());
         String taskNo = String.valueOf(param.getPageNum());
-        TaskInfo taskInfo = CacheUtil.getHash(taskInfoMapKey, taskNo, TaskInfo.class);
-        taskInfo.setFinishTime(new Date());
-        taskInfo.setStatus(TaskInfo.STATUS_FINISH);
-        taskInfo.setFinish(CacheUtil.getSetSize(normalIndexKey));       // 已完成设置为正常处理的数据总量
-        taskInfo.setErrorTotal(CacheUtil.getSetSize(errorIndexKey));    // 异常总数设置为处理异常的数据总量
-        taskInfo.setMachineNo(ApplicationUtil.getApplicationUniqueKey());
-        CacheUtil.setHash(taskInfoMapKey, taskNo, taskInfo);
-        // 清除已完成任务数据
-        CacheUtil.delete(normalIndexKey);
-        CacheUtil.delete(errorIndexKey);
+        String machineNo = ApplicationUtil.getApplicationUniqueKey();
+        boolean counting = CacheUtil.supportsAtomicIncrement();
+        CachePipeline pipeline = CacheUtil.pipelined();     // 处理进度及进度计数一次交互查询
+        PipelineResponse<? extends Number> finish = IndexSetUtil.size(pipeline, normalIndexKey);
+        PipelineResponse<? extends Number> errorTotal = IndexSetUtil.size(pipeline, errorIndexKey);
+        PipelineResponse<Number> counted = counting
+                ? pipeline.getHash(progressKey, batchFinishField, Number.class) : null;
+        PipelineResponse<Number> errorCounted = counting
+                ? pipeline.getHash(progressKey, batchErrorField, Number.class) : null;
+        pipeline.sync();
+        TaskInfo finished = CacheUtil.updateHash(taskInfoMapKey, taskNo, TaskInfo.class, taskInfo -> {   // 原子更新任务状态
+            if (taskInfo != null && taskInfo.getStatus() == TaskInfo.STATUS_FINISH) {
+                return null;    // 已被其他机器处理完成（如本机被误判宕机后任务被回收）则不再覆盖
+            }
+            if (taskInfo == null) {
+                taskInfo = new TaskInfo();
+                taskInfo.setTaskNo(param.getPageNum());
+            }
+            taskInfo.setFinishTime(new Date());
+            taskInfo.setStatus(TaskInfo.STATUS_FINISH);
+            taskInfo.setTotal(total);
+            taskInfo.setFinish(finish.get().intValue());            // 已完成设置为正常处理的数据总量
+            taskInfo.setErrorTotal(errorTotal.get().intValue());    // 异常总数设置为处理异常的数据总量
+            taskInfo.setMachineNo(machineNo);
+            return taskInfo;
+        });
+        if (finished == null) {
+            return;     // 完成状态非本次更新，下标集合、完成计数及进度校正由完成者处理
+        }
+        pipeline.remove(normalIndexKey);    // 清除已完成任务数据一次交互
+        pipeline.remove(errorIndexKey);
+        IndexSetUtil.add(pipeline, keys.getDoneTaskSet(), param.getPageNum());  // 完成计数（按编号去重，重复完成只计一次）
+        if (counting) { // 进度计数校正为下标集合的准确数量（重启重复处理、写入失败重试等情况计数可能偏差）
+            reconcileProgress(pipeline, progressKey, batchFinishField, TaskKeyUtil.PROGRESS_FINISH,
+                    finish.get().longValue(), counted.get());
+            reconcileProgress(pipeline, progressKey, batchErrorField, TaskKeyUtil.PROGRESS_ERROR,
+                    errorTotal.get().longValue(), errorCounted.get());
+        }
+        pipeline.sync();
     }
 
     /**
-     * 阻塞主线程
-     * @param futures 子线程futures
+     * 校正批次及任务的进度计数（管道中排队）
+     * @param pipeline    管道
+     * @param progressKey 任务进度map
+     * @param batchField  批次计数hashKey
+     * @param jobField    任务计数hashKey
+     * @param actual      准确数量
+     * @param counted     已计数量
      */
-    private void blockMainThread(List<Future<?>> futures) {
-        for (Future<?> future : futures) {  // 阻塞线程
-            try {
-                future.get();
-            } catch (InterruptedException | ExecutionException e) {
-                LOG.error("获取操作结果错误", e);
-            }
+    private void reconcileProgress(CachePipeline pipeline, String progressKey, String batchField, String jobField,
+                                   long actual, Number counted) {
+        long delta = actual - (counted == null ? 0L : counted.longValue());
+        if (delta != 0) {
+            pipeline.incrementHash(progressKey, batchField, delta);
+            pipeline.incrementHash(progressKey, jobField, delta);
         }
     }
 
@@ -240,62 +679,114 @@ public class DistributionExecutor implements Executor {
      * 计算任务编号
      * @param work  任务
      * @param param 参数
+     * @param keys  任务key空间
      * @param <P>   参数类型
      * @param <D>   数据类型
      * @return 任务编号
      */
-    private <P extends KeyAndPage, D> Integer calculateTaskNo(Work<P, D> work, P param) {
+    private <P extends KeyAndPage, D> Integer calculateTaskNo(Work<P, D> work, P param, JobKeyspace keys) {
         // 查询目前已执行任务数
-        String taskNoKey = TaskKeyUtil.taskNo(param);
+        String taskNoKey = keys.getTaskNo();
         Integer taskNo = CacheUtil.get(taskNoKey, Integer.class);
         if (taskNo == null) {       // 未查到已执行任务编号说明首次执行
-            int taskTotal = this.selectTaskTotal(work, param);
+            int taskTotal = this.selectTaskTotal(work, param, keys);
             if (taskTotal > 0) {    // 首次执行查询任务总数是否大于0，大于0说明有任务需要执行
                 taskNo = 1;
                 CacheUtil.set(taskNoKey, taskNo);
             }
         } else { // 非首次执行
-            int taskTotal = this.selectTaskTotal(work, param);
+            int taskTotal = this.selectTaskTotal(work, param, keys);
             if (taskTotal > taskNo) {   // 如果任务编号小于总任务数量则任务编号+1并写入缓存
                 taskNo++;
                 CacheUtil.set(taskNoKey, taskNo);
             } else { // 否则查询是否有机器宕机
-                ExecutorWatcher executorWatcher = CommonExecutorWatcher.getInstance();
-                List<TaskInfo> list = executorWatcher.selectTaskList(param);
-                for (TaskInfo taskInfo : list) {
-                    if (taskInfo.getStatus() != TaskInfo.STATUS_FINISH) {   // 未完成任务查询机器是否宕机
-                        boolean active = executorWatcher.isActive(taskInfo.getMachineNo());
-                        if (!active) {
-                            taskNo = taskInfo.getTaskNo();
-                            break;
-                        }
-                    }
-                }
+                taskNo = recoverTaskNo(param);
             }
         }
         LOG.info(String.format("任务编号 %s", taskNo));
         return taskNo;
     }
 
+    /**
+     * 无锁领取任务编号
+     * @param work  任务
+     * @param param 参数
+     * @param keys  任务key空间
+     * @param <P>   参数类型
+     * @param <D>   数据类型
+     * @return 任务编号，null表示编号已领完
+     */
+    private <P extends KeyAndPage, D> Integer claimTaskNo(Work<P, D> work, P param, JobKeyspace keys) {
+        int taskTotal = this.selectTaskTotal(work, param, keys);
+        if (taskTotal <= 0) {
+            return null;
+        }
+        Integer taskNo = CacheUtil.claim(keys.getTaskNo(), taskTotal);
+        LOG.info(String.format("领取任务编号 %s", taskNo));
+        return taskNo;
+    }
+
+    /**
+     * 回收宕机机器未完成的任务编号（需要在锁内执行，优先回收怀疑程度最高的机器的任务）
+     * @param param 参数
+     * @param <P>   参数类型
+     * @return 任务编号，null表示没有需要回收的任务
+     */
+    private <P extends KeyAndPage> Integer recoverTaskNo(P param) {
+        ExecutorWatcher executorWatcher = CommonExecutorWatcher.getInstance();
+        String machineNo = ApplicationUtil.getApplicationUniqueKey();
+        List<TaskInfo> list = executorWatcher.selectTaskList(param);
+        Map<String, Double> suspicions = new HashMap<>();   // 每台机器只判断一次（宕机机器 -> 怀疑程度，存活机器为null）
+        TaskInfo recover = null;
+        double maxSuspicion = -1;
+        for (TaskInfo taskInfo : list) {
+            if (machineNo.equals(taskInfo.getMachineNo())) {    // 本机的任务（如流水线中处理中的批次）不需要回收
+                continue;
+            }
+            if (taskInfo.getStatus() != TaskInfo.STATUS_FINISH) {   // 未完成任务查询机器是否宕机
+                String owner = taskInfo.getMachineNo();
+                if (owner == null) {    // 已被释放的任务直接回收
+                    recover = taskInfo;
+                    maxSuspicion = Double.POSITIVE_INFINITY;
+                    break;
+                }
+                if (!suspicions.containsKey(owner)) {
+                    suspicions.put(owner, executorWatcher.isActive(owner) ? null : executorWatcher.suspicion(owner));
+                }
+                Double suspicion = suspicions.get(owner);
+                if (suspicion != null && suspicion > maxSuspicion) {
+                    recover = taskInfo;
+                    maxSuspicion = suspicion;
+                }
+            }
+        }
+        if (recover == null) {
+            return null;
+        }
+        LOG.info(String.format("回收任务编号 %s 怀疑程度 %s", recover.getTaskNo(), maxSuspicion));
+        return recover.getTaskNo();
+    }
+
     /**
      * 任务是否已经执行完成
      * @param work  任务
      * @param param 参数
+     * @param keys  任务key空间
      * @param <P>   参数类型
      * @param <D>   数据类型
      * @return true：已完成
      */
-    private <P extends KeyAndPage, D> Boolean isCompleted(Work<P, D> work, P param) {
+    private <P extends KeyAndPage, D> Boolean isCompleted(Work<P, D> work, P param, JobKeyspace keys) {
         // 查询任务停止标记
-        Boolean stopFlag = CacheUtil.get(TaskKeyUtil.stopFlag(param), boolean.class);
+        Boolean stopFlag = CacheUtil.get(keys.getStopFlag(), boolean.class);
         if (stopFlag != null && stopFlag) {
             LOG.info(String.format("任务暂停 %s", param));
             return true;
         }
-        int taskTotal = this.selectTaskTotal(work, param);    // 查询任务总数
+        int taskTotal = this.selectTaskTotal(work, param, keys);    // 查询任务总数
         boolean result = true;  // 标记是否已处理完成true表示已完成
         if (taskTotal != 0) {
-            Integer taskNo = CacheUtil.get(TaskKeyUtil.taskNo(param), Integer.class);
+            Integer taskNo = CacheUtil.get(keys.getTaskNo(), Integer.class);
             if (taskNo == null || taskNo < taskTotal) {
                 result = false;
             }
@@ -311,14 +802,15 @@ public class DistributionExecutor implements Executor {
      * 查询获取任务总数
      * @param work  任务操作
      * @param param 参数
+     * @param keys  任务key空间
      * @param <P>   参数类型
      * @param <D>   数据类型
      * @return 数据总量
      */
-    private <P extends KeyAndPage, D> int selectTaskTotal(Work<P, D> work, P param) {
-        String taskTotalKey = TaskKeyUtil.taskTotal(param);
-        String dataTotalKey = TaskKeyUtil.dataTotal(param);
-        String lockKey = TaskKeyUtil.genLockKey(param.genKey());
+    private <P extends KeyAndPage, D> int selectTaskTotal(Work<P, D> work, P param, JobKeyspace keys) {
+        String taskTotalKey = keys.getTaskTotal();
+        String dataTotalKey = keys.getDataTotal();
+        String lockKey = keys.getLockKey();
         // 只需要一台机器执行实际逻辑
         Integer total = DistributionExecuteUtil.synchronouslyExecute(lockKey, SLEEP_SECONDS, () -> {
             // 1.从缓存查询
@@ -361,6 +853,13 @@ public class DistributionExecutor implements Executor {
         return executor;
     }
 
+    /**
+     * @return 流式任务处理中数据窗口大小
+     */
+    private int getStreamingWindow() {
+        return streamingWindow > 0 ? streamingWindow : getExecutor().getMaximumPoolSize() * 2;
+    }
+
     /**
      * 设置执行器线程池
      * @param executor 执行器线程池
@@ -368,4 +867,113 @@ public class DistributionExecutor implements Executor {
     public void setExecutor(ThreadPoolExecutor executor) {
         this.executor = executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * 设置是否无锁领取任务编号
+     * @param lockFreeClaim 是否无锁领取
+     */
+    public void setLockFreeClaim(boolean lockFreeClaim) {
+        this.lockFreeClaim = lockFreeClaim;
+    }
+
+    /**
+     * 设置任务编号领取者（同一任务的全部机器需要使用相同的领取方式，只替代任务编号的分配，仍需要设置缓存提供者）
+     * @param taskClaimer 任务编号领取者
+     */
+    public void setTaskClaimer(TaskClaimer taskClaimer) {
+        this.taskClaimer = taskClaimer;
+    }
+
+    /**
+     * 设置任务编号租约时间
+     * @param taskLeaseSeconds 租约时间（秒）
+     */
+    public void setTaskLeaseSeconds(long taskLeaseSeconds) {
+        if (taskLeaseSeconds <= 0) {
+            throw new RuntimeException("租约时间必须大于0");
+        }
+        this.taskLeaseSeconds = taskLeaseSeconds;
+    }
+
+    /**
+     * 设置预取深度（参数需要实现Copyable，否则按非流水线方式执行）
+     * @param prefetchDepth 预取深度（0表示不预取）
+     */
+    public void setPrefetchDepth(int prefetchDepth) {
+        if (prefetchDepth < 0) {
+            throw new RuntimeException("预取深度不能小于0");
+        }
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    /**
+     * 设置流式任务处理中数据窗口大小
+     * @param streamingWindow 窗口大小
+     */
+    public void setStreamingWindow(int streamingWindow) {
+        this.streamingWindow = streamingWindow;
+    }
+
+    /**
+     * 设置批量处理任务每块数据数量
+     * @param chunkSize 每块数据数量
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new RuntimeException("每块数据数量必须大于0");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 设置是否延迟写入处理进度
+     * @param writeBehindProgress 是否延迟写入
+     */
+    public void setWriteBehindProgress(boolean writeBehindProgress) {
+        this.writeBehindProgress = writeBehindProgress;
+    }
+
+    /**
+     * 设置延迟写入处理进度的时间间隔
+     * @param progressFlushInterval 时间间隔（毫秒）
+     */
+    public void setProgressFlushInterval(long progressFlushInterval) {
+        if (progressFlushInterval <= 0) {
+            throw new RuntimeException("时间间隔必须大于0");
+        }
+        this.progressFlushInterval = progressFlushInterval;
+    }
+
+    /**
+     * 设置延迟写入处理进度的数量阈值
+     * @param progressFlushThreshold 数量阈值
+     */
+    public void setProgressFlushThreshold(int progressFlushThreshold) {
+        if (progressFlushThreshold <= 0) {
+            throw new RuntimeException("数量阈值必须大于0");
+        }
+        this.progressFlushThreshold = progressFlushThreshold;
+    }
+
+    /**
+     * 设置是否异步写入处理进度（需要通过AsyncCacheUtil设置异步缓存提供者，延迟写入优先）
+     * @param asyncProgress 是否异步写入
+     */
+    public void setAsyncProgress(boolean asyncProgress) {
+        if (asyncProgress && !AsyncCacheUtil.isAvailable()) {
+            throw new RuntimeException("异步写入处理进度需要先设置异步缓存提供者");
+        }
+        this.asyncProgress = asyncProgress;
+    }
+
+    /**
+     * 设置异步写入处理进度时未完成写入数量上限
+     * @param asyncProgressLimit 数量上限
+     */
+    public void setAsyncProgressLimit(int asyncProgressLimit) {
+        if (asyncProgressLimit <= 0) {
+            throw new RuntimeException("数量上限必须大于0");
+        }
+        this.asyncProgressLimit = asyncProgressLimit;
+    }
+}
@@ -0,0 +1,77 @@
+package com.nature.distribution.executor;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 处理中数据窗口（限制同时提交至线程池的数据数量，并支持等待全部处理完成）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 10:12
+ */
+class InFlightWindow {
+
+    /**
+     * 窗口大小（小于等于0表示不限制）
+     */
+    private final int limit;
+    /**
+     * 处理中数量
+     */
+    private int inFlight;
+    /**
+     * 锁
+     */
+    private final Lock lock = new ReentrantLock();
+    /**
+     * 处理中数量变化
+     */
+    private final Condition changed = lock.newCondition();
+
+    InFlightWindow(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 占用窗口，窗口已满时阻塞直到有数据处理完成
+     */
+    void acquire() {
+        lock.lock();
+        try {
+            while (limit > 0 && inFlight >= limit) {
+                changed.awaitUninterruptibly();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 释放窗口
+     */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 阻塞直到全部数据处理完成
+     */
+    void awaitEmpty() {
+        lock.lock();
+        try {
+            while (inFlight > 0) {
+                changed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
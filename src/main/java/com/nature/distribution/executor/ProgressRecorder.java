@@ -0,0 +1,22 @@
+package com.nature.distribution.executor;
+
+/**
+ * 批次处理进度记录器
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 11:20
+ */
+interface ProgressRecorder {
+
+    /**
+     * 记录数据处理结果
+     * @param index   数据下标
+     * @param success 是否处理成功
+     */
+    void record(int index, boolean success);
+
+    /**
+     * 关闭记录器，返回前保证全部处理结果已写入缓存
+     */
+    void close();
+}
@@ -0,0 +1,64 @@
+package com.nature.distribution.executor;
+
+import com.nature.distribution.definition.TaskClaimer;
+import com.nature.distribution.model.Keyable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务编号租约续约（批次处理期间按租约时间的三分之一定期续约）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 20:30
+ */
+class TaskLeaseRenewer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskLeaseRenewer.class);
+
+    /**
+     * 全部租约共用的续约线程
+     */
+    private static final ScheduledExecutorService RENEWER = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "task-lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 定时续约任务
+     */
+    private final ScheduledFuture<?> scheduled;
+
+    /**
+     * 开始续约
+     * @param claimer      任务编号领取者
+     * @param job          任务
+     * @param taskNo       任务编号
+     * @param machineNo    机器编号
+     * @param leaseSeconds 租约时间（秒）
+     */
+    TaskLeaseRenewer(TaskClaimer claimer, Keyable job, int taskNo, String machineNo, long leaseSeconds) {
+        long period = Math.max(leaseSeconds * 1000 / 3, 1);
+        this.scheduled = RENEWER.scheduleWithFixedDelay(() -> {
+            try {
+                if (!claimer.renew(job, taskNo, machineNo, leaseSeconds)) {
+                    LOG.warn(String.format("任务编号 %s 租约已丢失", taskNo));
+                }
+            } catch (RuntimeException e) {
+                LOG.error(String.format("任务编号 %s 续约错误", taskNo), e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止续约
+     */
+    void cancel() {
+        scheduled.cancel(false);
+    }
+}
@@ -0,0 +1,183 @@
+package com.nature.distribution.executor;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.util.CacheUtil;
+import com.nature.distribution.util.IndexSetUtil;
+import com.nature.distribution.util.TaskKeyUtil;
+import com.nature.distribution.util.TaskKeyUtil.JobKeyspace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.BitSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 延迟写入的进度记录器
+ * 处理结果先记录在本地位图，按时间间隔或数量阈值由后台线程批量写入缓存，宕机时最多丢失一次未写入的结果
+ * （处理逻辑要求支持重试，丢失的结果重启后重新处理即可）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 11:25
+ */
+class WriteBehindProgressRecorder implements ProgressRecorder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindProgressRecorder.class);
+
+    /**
+     * 全部记录器共用的后台写入线程
+     */
+    private static final ScheduledExecutorService FLUSHER = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "progress-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 正常处理的数据下标集合key
+     */
+    private final String normalIndexKey;
+    /**
+     * 异常处理的数据下标集合key
+     */
+    private final String errorIndexKey;
+    /**
+     * 任务进度map
+     */
+    private final String progressKey;
+    /**
+     * 批次正常处理数hashKey
+     */
+    private final String batchFinishField;
+    /**
+     * 批次异常处理数hashKey
+     */
+    private final String batchErrorField;
+    /**
+     * 是否维护进度计数
+     */
+    private final boolean counting;
+    /**
+     * 数量阈值，未写入的结果达到阈值时触发写入
+     */
+    private final int flushThreshold;
+    /**
+     * 未写入的正常处理下标
+     */
+    private BitSet pendingNormal = new BitSet();
+    /**
+     * 未写入的异常处理下标
+     */
+    private BitSet pendingError = new BitSet();
+    /**
+     * 未写入的数量
+     */
+    private int pending;
+    /**
+     * 是否已触发写入
+     */
+    private boolean flushTriggered;
+    /**
+     * 写入锁（保证同一时间只有一次写入，关闭时等待进行中的写入完成）
+     */
+    private final Lock flushLock = new ReentrantLock();
+    /**
+     * 定时写入任务
+     */
+    private final ScheduledFuture<?> scheduled;
+
+    WriteBehindProgressRecorder(JobKeyspace keys, int taskNo, long flushIntervalMillis, int flushThreshold) {
+        this.normalIndexKey = keys.normalIndexSet(taskNo);
+        this.errorIndexKey = keys.errorIndexSet(taskNo);
+        this.progressKey = keys.getProgressMap();
+        this.batchFinishField = TaskKeyUtil.batchFinishField(taskNo);
+        this.batchErrorField = TaskKeyUtil.batchErrorField(taskNo);
+        this.counting = CacheUtil.supportsAtomicIncrement();
+        this.flushThreshold = flushThreshold;
+        this.scheduled = FLUSHER.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis,
+                flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void record(int index, boolean success) {
+        synchronized (this) {
+            (success ? pendingNormal : pendingError).set(index);
+            if (++pending < flushThreshold || flushTriggered) {
+                return;
+            }
+            flushTriggered = true;
+        }
+        FLUSHER.execute(this::flushQuietly);    // 达到数量阈值由后台线程写入，不阻塞处理线程
+    }
+
+    @Override
+    public void close() {
+        scheduled.cancel(false);
+        flush();
+    }
+
+    /**
+     * 写入缓存，异常只记录日志（未写入的结果保留至下次写入）
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            LOG.error("处理进度写入缓存错误", t);
+        }
+    }
+
+    /**
+     * 将未写入的结果写入缓存
+     */
+    private void flush() {
+        flushLock.lock();
+        try {
+            BitSet normal;
+            BitSet error;
+            synchronized (this) {
+                normal = pendingNormal;
+                error = pendingError;
+                pendingNormal = new BitSet();
+                pendingError = new BitSet();
+                pending = 0;
+                flushTriggered = false;
+            }
+            try {
+                CachePipeline pipeline = CacheUtil.pipelined();     // 正常及异常下标与进度计数一次交互写入
+                IndexSetUtil.addAll(pipeline, normalIndexKey, normal);
+                IndexSetUtil.addAll(pipeline, errorIndexKey, error);
+                incrementProgress(pipeline, batchFinishField, TaskKeyUtil.PROGRESS_FINISH, normal.cardinality());
+                incrementProgress(pipeline, batchErrorField, TaskKeyUtil.PROGRESS_ERROR, error.cardinality());
+                pipeline.sync();
+            } catch (RuntimeException e) {
+                synchronized (this) {   // 写入失败则放回，下次重新写入（重复写入无影响）
+                    pendingNormal.or(normal);
+                    pendingError.or(error);
+                    pending += normal.cardinality() + error.cardinality();
+                }
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 增加批次及任务的进度计数（管道中排队）
+     * @param pipeline   管道
+     * @param batchField 批次计数hashKey
+     * @param jobField   任务计数hashKey
+     * @param count      数量
+     */
+    private void incrementProgress(CachePipeline pipeline, String batchField, String jobField, int count) {
+        if (counting && count > 0) {
+            pipeline.incrementHash(progressKey, batchField, count);
+            pipeline.incrementHash(progressKey, jobField, count);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.nature.distribution.model;
+
+import java.util.BitSet;
+
+/**
+ * 批量处理结果（按数据在本次批量中的位置标记处理异常的数据，未标记的视为处理成功）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 10:48
+ */
+public class ChunkResult extends BaseModel {
+
+    /**
+     * 处理异常的数据位置
+     */
+    private final BitSet errors = new BitSet();
+
+    /**
+     * 标记处理异常
+     * @param position 数据在本次批量中的位置（从0开始）
+     * @return 处理结果
+     */
+    public ChunkResult markError(int position) {
+        errors.set(position);
+        return this;
+    }
+
+    /**
+     * 是否处理异常
+     * @param position 数据在本次批量中的位置（从0开始）
+     * @return true：处理异常
+     */
+    public boolean isError(int position) {
+        return errors.get(position);
+    }
+
+    /**
+     * 获取处理异常总数
+     * @return 处理异常总数
+     */
+    public int getErrorTotal() {
+        return errors.cardinality();
+    }
+}
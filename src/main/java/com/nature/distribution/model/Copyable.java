@@ -0,0 +1,16 @@
+package com.nature.distribution.model;
+
+/**
+ * 可复制的
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 09:12
+ */
+public interface Copyable<T> {
+
+    /**
+     * 复制出一个独立的新实例（修改新实例不影响原实例）
+     * @return 新实例
+     */
+    T copy();
+}
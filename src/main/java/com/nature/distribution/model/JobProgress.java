@@ -0,0 +1,59 @@
+package com.nature.distribution.model;
+
+/**
+ * 任务整体进度
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 23:30
+ */
+public class JobProgress extends BaseModel {
+
+    /**
+     * 数据总数
+     */
+    private int dataTotal;
+    /**
+     * 任务总数
+     */
+    private int taskTotal;
+    /**
+     * 正常处理的数据数量
+     */
+    private long finish;
+    /**
+     * 处理异常的数据数量
+     */
+    private long errorTotal;
+
+    public int getDataTotal() {
+        return dataTotal;
+    }
+
+    public void setDataTotal(int dataTotal) {
+        this.dataTotal = dataTotal;
+    }
+
+    public int getTaskTotal() {
+        return taskTotal;
+    }
+
+    public void setTaskTotal(int taskTotal) {
+        this.taskTotal = taskTotal;
+    }
+
+    public long getFinish() {
+        return finish;
+    }
+
+    public void setFinish(long finish) {
+        this.finish = finish;
+    }
+
+    public long getErrorTotal() {
+        return errorTotal;
+    }
+
+    public void setErrorTotal(long errorTotal) {
+        this.errorTotal = errorTotal;
+    }
+}
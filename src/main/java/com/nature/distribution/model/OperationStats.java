@@ -0,0 +1,117 @@
+package com.nature.distribution.model;
+
+/**
+ * 缓存操作统计快照（按操作及key分类）
+ * 耗时直方图按2的幂分桶，第i个桶统计耗时在[2^i, 2^(i+1))纳秒的调用次数
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 18:50
+ */
+public class OperationStats extends BaseModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 操作名称
+     */
+    private final String operation;
+    /**
+     * key分类
+     */
+    private final String keyFamily;
+    /**
+     * 调用次数
+     */
+    private final long calls;
+    /**
+     * 异常次数
+     */
+    private final long errors;
+    /**
+     * 总耗时（纳秒）
+     */
+    private final long totalNanos;
+    /**
+     * 最大耗时（纳秒）
+     */
+    private final long maxNanos;
+    /**
+     * 耗时直方图
+     */
+    private final long[] histogram;
+
+    public OperationStats(String operation, String keyFamily, long calls, long errors, long totalNanos,
+                          long maxNanos, long[] histogram) {
+        this.operation = operation;
+        this.keyFamily = keyFamily;
+        this.calls = calls;
+        this.errors = errors;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * 平均耗时
+     * @return 平均耗时（纳秒）
+     */
+    public long getMeanNanos() {
+        return calls == 0 ? 0 : totalNanos / calls;
+    }
+
+    /**
+     * 耗时分位数（取所在桶的上界，最大不超过最大耗时）
+     * @param percentile 分位（0-100）
+     * @return 耗时（纳秒）
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new RuntimeException("分位必须在0到100之间");
+        }
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && histogram[i] > 0) {
+                long upper = i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                return Math.min(upper, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getKeyFamily() {
+        return keyFamily;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+}
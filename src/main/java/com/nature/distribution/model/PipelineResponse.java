@@ -0,0 +1,39 @@
+package com.nature.distribution.model;
+
+/**
+ * 管道操作结果（管道执行后才能获取）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 15:02
+ */
+public class PipelineResponse<V> {
+
+    /**
+     * 结果
+     */
+    private V value;
+    /**
+     * 是否已执行
+     */
+    private volatile boolean done;
+
+    /**
+     * 获取结果
+     * @return 结果
+     */
+    public V get() {
+        if (!done) {
+            throw new RuntimeException("pipeline not synced");
+        }
+        return value;
+    }
+
+    /**
+     * 设置结果（由管道实现在执行后设置）
+     * @param value 结果
+     */
+    public void set(V value) {
+        this.value = value;
+        this.done = true;
+    }
+}
@@ -0,0 +1,213 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.AsyncCacheProvider;
+import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.Executable;
+import com.nature.distribution.definition.Updatable;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同步缓存提供者的异步适配器
+ * 操作提交至后台线程池执行，调用线程不等待缓存交互；多线程执行不保证操作顺序，
+ * 线程池队列有上限，队列已满时由调用线程直接执行（反压，调用线程等待缓存交互）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 18:20
+ */
+public class AsyncCacheProviderAdapter implements AsyncCacheProvider {
+
+    /**
+     * 默认线程数
+     */
+    private static final int DEFAULT_THREADS = 4;
+    /**
+     * 默认队列容量
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * 同步缓存提供者
+     */
+    private final CacheProvider cacheProvider;
+    /**
+     * 执行缓存操作的线程
+     */
+    private final Executor executor;
+    /**
+     * 自行创建的线程（关闭时释放）
+     */
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * 使用默认的有界线程池执行
+     * @param cacheProvider 同步缓存提供者
+     */
+    public AsyncCacheProviderAdapter(CacheProvider cacheProvider) {
+        this(cacheProvider, DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * 使用自行创建的有界线程池执行
+     * @param cacheProvider 同步缓存提供者
+     * @param threads       线程数
+     * @param queueCapacity 队列容量
+     */
+    public AsyncCacheProviderAdapter(CacheProvider cacheProvider, int threads, int queueCapacity) {
+        this(cacheProvider, newBoundedExecutor(threads, queueCapacity), true);
+    }
+
+    /**
+     * 使用指定线程执行（队列上限及反压由指定的线程决定）
+     * @param cacheProvider 同步缓存提供者
+     * @param executor      执行缓存操作的线程
+     */
+    public AsyncCacheProviderAdapter(CacheProvider cacheProvider, Executor executor) {
+        this(cacheProvider, executor, false);
+    }
+
+    private AsyncCacheProviderAdapter(CacheProvider cacheProvider, Executor executor, boolean owned) {
+        if (cacheProvider == null || executor == null) {
+            throw new NullPointerException("cache provider or executor is null");
+        }
+        this.cacheProvider = cacheProvider;
+        this.executor = executor;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, Object value) {
+        return CompletableFuture.runAsync(() -> cacheProvider.set(key, value), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, Object value, long expireMillis) {
+        return CompletableFuture.runAsync(() -> cacheProvider.set(key, value, expireMillis), executor);
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String key) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.get(key), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasKey(String key) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.hasKey(key), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> expire(String key, Long expireTime) {
+        return CompletableFuture.runAsync(() -> cacheProvider.expire(key, expireTime), executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> incrementAndGet(String key, long value) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.incrementAndGet(key, value), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> setHash(String key, String hashKey, Object value) {
+        return CompletableFuture.runAsync(() -> cacheProvider.setHash(key, hashKey, value), executor);
+    }
+
+    @Override
+    public <V> CompletableFuture<V> getHash(String key, String hashKey, Class<V> vClass) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.getHash(key, hashKey, vClass), executor);
+    }
+
+    @Override
+    public <V> CompletableFuture<V> updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.updateHash(key, hashKey, vClass, updater), executor);
+    }
+
+    @Override
+    public CompletableFuture<Long> incrementHash(String key, String hashKey, long delta) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.incrementHash(key, hashKey, delta), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addToSet(String key, Object value) {
+        return CompletableFuture.runAsync(() -> cacheProvider.addToSet(key, value), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addAllToSet(String key, Collection<?> values) {
+        return CompletableFuture.runAsync(() -> cacheProvider.addAllToSet(key, values), executor);
+    }
+
+    @Override
+    public boolean supportsAtomicIncrement() {
+        return cacheProvider.supportsAtomicIncrement();
+    }
+
+    @Override
+    public boolean supportsPipeline() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Void> pipelined(Executable<CachePipeline> operations) {
+        return CompletableFuture.runAsync(() -> {
+            CachePipeline pipeline = cacheProvider.pipelined();
+            operations.execute(pipeline);
+            pipeline.sync();
+        }, executor);
+    }
+
+    @Override
+    public boolean supportsBitmap() {
+        return cacheProvider.supportsBitmap();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setBit(String key, long offset, boolean value) {
+        return CompletableFuture.supplyAsync(() -> cacheProvider.setBit(key, offset, value), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> setBits(String key, BitSet bits) {
+        return CompletableFuture.runAsync(() -> cacheProvider.setBits(key, bits), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> remove(String key) {
+        return CompletableFuture.runAsync(() -> cacheProvider.remove(key), executor);
+    }
+
+    /**
+     * 创建有界线程池（队列已满时由调用线程执行）
+     * @param threads       线程数
+     * @param queueCapacity 队列容量
+     * @return 线程池
+     */
+    private static ExecutorService newBoundedExecutor(int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new RuntimeException("线程数及队列容量必须大于0");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "cache-async-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 关闭自行创建的线程（已提交的操作继续执行完成）
+     */
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
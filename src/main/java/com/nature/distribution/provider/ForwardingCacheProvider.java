@@ -0,0 +1,248 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.definition.Codec;
+import com.nature.distribution.definition.Updatable;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 转发的缓存提供者（全部操作转发给被装饰的提供者，装饰器继承后只覆盖需要增强的操作）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 17:10
+ */
+public abstract class ForwardingCacheProvider implements CacheProvider {
+
+    /**
+     * 被装饰的缓存提供者
+     */
+    protected final CacheProvider delegate;
+
+    protected ForwardingCacheProvider(CacheProvider delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("cache provider is null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        delegate.set(key, value);
+    }
+
+    @Override
+    public Object get(String key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        return delegate.keys(pattern);
+    }
+
+    @Override
+    public void delete(Set<String> keys) {
+        delegate.delete(keys);
+    }
+
+    @Override
+    public boolean lock(String lockKey, Long lockSeconds) {
+        return delegate.lock(lockKey, lockSeconds);
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+        delegate.unlock(lockKey);
+    }
+
+    @Override
+    public void expire(String key, Long expireTime) {
+        delegate.expire(key, expireTime);
+    }
+
+    @Override
+    public void set(String key, Object value, long expireMillis) {
+        delegate.set(key, value, expireMillis);
+    }
+
+    @Override
+    public void expireMillis(String key, long expireMillis) {
+        delegate.expireMillis(key, expireMillis);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return delegate.hasKey(key);
+    }
+
+    @Override
+    public Integer incrementAndGet(String key, long value) {
+        return delegate.incrementAndGet(key, value);
+    }
+
+    @Override
+    public long incrementHash(String key, String hashKey, long delta) {
+        return delegate.incrementHash(key, hashKey, delta);
+    }
+
+    @Override
+    public Integer claim(String key, int limit) {
+        return delegate.claim(key, limit);
+    }
+
+    @Override
+    public void setHash(String key, String hashKey, Object value) {
+        delegate.setHash(key, hashKey, value);
+    }
+
+    @Override
+    public Object getHash(String key, String hashKey) {
+        return delegate.getHash(key, hashKey);
+    }
+
+    @Override
+    public void remove(String key) {
+        delegate.remove(key);
+    }
+
+    @Override
+    public <V> V getHash(String key, String hashKey, Class<V> vClass) {
+        return delegate.getHash(key, hashKey, vClass);
+    }
+
+    @Override
+    public <V> V updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        return delegate.updateHash(key, hashKey, vClass, updater);
+    }
+
+    @Override
+    public void deleteHash(String key, String hashKey) {
+        delegate.deleteHash(key, hashKey);
+    }
+
+    @Override
+    public Map<String, Object> getMap(String key) {
+        return delegate.getMap(key);
+    }
+
+    @Override
+    public Set<String> getMapKeys(String key) {
+        return delegate.getMapKeys(key);
+    }
+
+    @Override
+    public void addToSet(String key, Object value) {
+        delegate.addToSet(key, value);
+    }
+
+    @Override
+    public void addAllToSet(String key, Collection<?> values) {
+        delegate.addAllToSet(key, values);
+    }
+
+    @Override
+    public boolean hasInSet(String key, Object value) {
+        return delegate.hasInSet(key, value);
+    }
+
+    @Override
+    public int getSetSize(String key) {
+        return delegate.getSetSize(key);
+    }
+
+    @Override
+    public boolean supportsAtomicIncrement() {
+        return delegate.supportsAtomicIncrement();
+    }
+
+    @Override
+    public boolean supportsBitmap() {
+        return delegate.supportsBitmap();
+    }
+
+    @Override
+    public boolean setBit(String key, long offset, boolean value) {
+        return delegate.setBit(key, offset, value);
+    }
+
+    @Override
+    public void setBits(String key, BitSet bits) {
+        delegate.setBits(key, bits);
+    }
+
+    @Override
+    public boolean getBit(String key, long offset) {
+        return delegate.getBit(key, offset);
+    }
+
+    @Override
+    public long bitCount(String key) {
+        return delegate.bitCount(key);
+    }
+
+    @Override
+    public BitSet getBits(String key, long start, long end) {
+        return delegate.getBits(key, start, end);
+    }
+
+    @Override
+    public <V> Set<V> getSet(String key, Class<V> vClass) {
+        return delegate.getSet(key, vClass);
+    }
+
+    @Override
+    public List<Object> getMapValues(String key) {
+        return delegate.getMapValues(key);
+    }
+
+    @Override
+    public void addToList(String key, Object datum) {
+        delegate.addToList(key, datum);
+    }
+
+    @Override
+    public void addAllToList(String key, Collection<Object> objects) {
+        delegate.addAllToList(key, objects);
+    }
+
+    @Override
+    public <V> V popFromList(String key, Class<V> vClass) {
+        return delegate.popFromList(key, vClass);
+    }
+
+    @Override
+    public Integer getListSize(String key) {
+        return delegate.getListSize(key);
+    }
+
+    @Override
+    public List<Object> sublist(String key, int start, int end) {
+        return delegate.sublist(key, start, end);
+    }
+
+    @Override
+    public List<Object> getList(String key) {
+        return delegate.getList(key);
+    }
+
+    @Override
+    public CachePipeline pipelined() {
+        return delegate.pipelined();
+    }
+
+    @Override
+    public Codec getCodec() {
+        return delegate.getCodec();
+    }
+
+    @Override
+    public void invalidateLocal(String key) {
+        delegate.invalidateLocal(key);
+    }
+}
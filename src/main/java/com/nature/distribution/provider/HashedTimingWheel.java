@@ -0,0 +1,180 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.Executable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 哈希时间轮（按固定刻度推进，到期时回调，适合大量定时且多数会被续期或取消的场景）
+ * 新增的定时先放入待处理队列，由时间轮线程在每个刻度开始时放入对应格子，格子只由时间轮线程访问
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 16:05
+ */
+public class HashedTimingWheel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    /**
+     * 刻度（毫秒）
+     */
+    private final long tickMillis;
+    /**
+     * 格子下标掩码（格子数量为2的幂）
+     */
+    private final int mask;
+    /**
+     * 格子
+     */
+    private final Queue<Timeout>[] buckets;
+    /**
+     * 待放入格子的定时
+     */
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    /**
+     * 到期回调
+     */
+    private final Executable<String> onExpire;
+    /**
+     * 开始时间
+     */
+    private final long startTime;
+    /**
+     * 时间轮线程
+     */
+    private final Thread worker;
+    /**
+     * 是否运行中
+     */
+    private volatile boolean running = true;
+
+    /**
+     * @param tickMillis 刻度（毫秒）
+     * @param wheelSize  格子数量（向上取整为2的幂）
+     * @param onExpire   到期回调（参数为定时对应的key）
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedTimingWheel(long tickMillis, int wheelSize, Executable<String> onExpire) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new RuntimeException("刻度及格子数量必须大于0");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.onExpire = onExpire;
+        this.startTime = System.currentTimeMillis();
+        this.worker = new Thread(this::run, "timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 新增定时
+     * @param key      key
+     * @param deadline 到期时间（毫秒时间戳）
+     */
+    public void schedule(String key, long deadline) {
+        pending.add(new Timeout(key, deadline));
+    }
+
+    /**
+     * 停止时间轮（未到期的定时不再回调）
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * 时间轮线程逻辑
+     */
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long sleep = startTime + (tick + 1) * tickMillis - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+            }
+            transferPending(tick);
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * 待处理的定时放入对应格子
+     * @param tick 当前刻度
+     */
+    private void transferPending(long tick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            long ticks = Math.max((timeout.deadline - startTime) / tickMillis, tick); // 已过期的放入当前格子
+            timeout.rounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 处理格子中到期的定时
+     * @param bucket 格子
+     */
+    private void expire(Queue<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.rounds > 0) {   // 还需要转几圈
+                timeout.rounds--;
+                continue;
+            }
+            iterator.remove();
+            try {
+                onExpire.execute(timeout.key);
+            } catch (Throwable t) {
+                LOG.error(String.format("timing wheel expire error key %s", timeout.key), t);
+            }
+        }
+    }
+
+    /**
+     * 定时
+     */
+    private static class Timeout {
+
+        /**
+         * key
+         */
+        private final String key;
+        /**
+         * 到期时间
+         */
+        private final long deadline;
+        /**
+         * 剩余圈数
+         */
+        private long rounds;
+
+        private Timeout(String key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
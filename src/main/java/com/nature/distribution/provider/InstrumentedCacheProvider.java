@@ -0,0 +1,754 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.definition.Updatable;
+import com.nature.distribution.model.OperationStats;
+import com.nature.distribution.model.PipelineResponse;
+import com.nature.distribution.util.TaskKeyUtil;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计耗时的缓存提供者
+ * 按操作及key分类（见TaskKeyUtil.keyFamily）记录调用次数、异常次数与耗时直方图，用于定位协调开销的热点；
+ * 统计在调用前后直接取时间，单个key的操作记录时只更新计数器，不创建对象（首次出现的操作及分类除外）；
+ * 管道整次交互按操作名pipeline.sync、分类multi统计，管道内的操作按pipeline.操作名及各自的key分类统计，
+ * 管道内单个操作的耗时无法区分，按整次交互耗时平均分摊（与pipeline.sync的耗时重叠）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 18:50
+ */
+public class InstrumentedCacheProvider extends ForwardingCacheProvider {
+
+    /**
+     * 多个key的操作分类
+     */
+    private static final String MULTI_FAMILY = "multi";
+    /**
+     * 直方图桶数量
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * 操作 -> key分类 -> 统计
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Recorder>> recorders = new ConcurrentHashMap<>();
+
+    public InstrumentedCacheProvider(CacheProvider delegate) {
+        super(delegate);
+    }
+
+    /**
+     * 获取统计快照（按总耗时倒序，耗时最多的在前）
+     * @return 统计快照
+     */
+    public List<OperationStats> snapshot() {
+        List<OperationStats> stats = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<String, Recorder>> operation : recorders.entrySet()) {
+            for (Map.Entry<String, Recorder> family : operation.getValue().entrySet()) {
+                stats.add(family.getValue().snapshot(operation.getKey(), family.getKey()));
+            }
+        }
+        stats.sort(Comparator.comparingLong(OperationStats::getTotalNanos).reversed());
+        return stats;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        recorders.clear();
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.set(key, value);
+            success = true;
+        } finally {
+            record("set", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Object get(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = delegate.get(key);
+            success = true;
+            return result;
+        } finally {
+            record("get", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Set<String> result = delegate.keys(pattern);
+            success = true;
+            return result;
+        } finally {
+            record("keys", TaskKeyUtil.keyFamily(pattern), startNanos, success);
+        }
+    }
+
+    @Override
+    public void delete(Set<String> keys) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.delete(keys);
+            success = true;
+        } finally {
+            record("delete", familyOf(keys), startNanos, success);
+        }
+    }
+
+    @Override
+    public boolean lock(String lockKey, Long lockSeconds) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            boolean result = delegate.lock(lockKey, lockSeconds);
+            success = true;
+            return result;
+        } finally {
+            record("lock", TaskKeyUtil.keyFamily(lockKey), startNanos, success);
+        }
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.unlock(lockKey);
+            success = true;
+        } finally {
+            record("unlock", TaskKeyUtil.keyFamily(lockKey), startNanos, success);
+        }
+    }
+
+    @Override
+    public void expire(String key, Long expireTime) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.expire(key, expireTime);
+            success = true;
+        } finally {
+            record("expire", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void set(String key, Object value, long expireMillis) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.set(key, value, expireMillis);
+            success = true;
+        } finally {
+            record("set", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void expireMillis(String key, long expireMillis) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.expireMillis(key, expireMillis);
+            success = true;
+        } finally {
+            record("expire", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            boolean result = delegate.hasKey(key);
+            success = true;
+            return result;
+        } finally {
+            record("hasKey", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Integer incrementAndGet(String key, long value) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Integer result = delegate.incrementAndGet(key, value);
+            success = true;
+            return result;
+        } finally {
+            record("incrementAndGet", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public long incrementHash(String key, String hashKey, long delta) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            long result = delegate.incrementHash(key, hashKey, delta);
+            success = true;
+            return result;
+        } finally {
+            record("incrementHash", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Integer claim(String key, int limit) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Integer result = delegate.claim(key, limit);
+            success = true;
+            return result;
+        } finally {
+            record("claim", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void setHash(String key, String hashKey, Object value) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.setHash(key, hashKey, value);
+            success = true;
+        } finally {
+            record("setHash", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Object getHash(String key, String hashKey) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = delegate.getHash(key, hashKey);
+            success = true;
+            return result;
+        } finally {
+            record("getHash", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.remove(key);
+            success = true;
+        } finally {
+            record("remove", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public <V> V getHash(String key, String hashKey, Class<V> vClass) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            V result = delegate.getHash(key, hashKey, vClass);
+            success = true;
+            return result;
+        } finally {
+            record("getHash", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public <V> V updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            V result = delegate.updateHash(key, hashKey, vClass, updater);
+            success = true;
+            return result;
+        } finally {
+            record("updateHash", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void deleteHash(String key, String hashKey) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.deleteHash(key, hashKey);
+            success = true;
+        } finally {
+            record("deleteHash", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getMap(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Map<String, Object> result = delegate.getMap(key);
+            success = true;
+            return result;
+        } finally {
+            record("getMap", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Set<String> getMapKeys(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Set<String> result = delegate.getMapKeys(key);
+            success = true;
+            return result;
+        } finally {
+            record("getMapKeys", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void addToSet(String key, Object value) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.addToSet(key, value);
+            success = true;
+        } finally {
+            record("addToSet", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void addAllToSet(String key, Collection<?> values) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.addAllToSet(key, values);
+            success = true;
+        } finally {
+            record("addAllToSet", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public boolean hasInSet(String key, Object value) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            boolean result = delegate.hasInSet(key, value);
+            success = true;
+            return result;
+        } finally {
+            record("hasInSet", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public int getSetSize(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            int result = delegate.getSetSize(key);
+            success = true;
+            return result;
+        } finally {
+            record("getSetSize", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public boolean setBit(String key, long offset, boolean value) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            boolean result = delegate.setBit(key, offset, value);
+            success = true;
+            return result;
+        } finally {
+            record("setBit", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void setBits(String key, BitSet bits) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.setBits(key, bits);
+            success = true;
+        } finally {
+            record("setBits", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public boolean getBit(String key, long offset) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            boolean result = delegate.getBit(key, offset);
+            success = true;
+            return result;
+        } finally {
+            record("getBit", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public long bitCount(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            long result = delegate.bitCount(key);
+            success = true;
+            return result;
+        } finally {
+            record("bitCount", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public BitSet getBits(String key, long start, long end) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            BitSet result = delegate.getBits(key, start, end);
+            success = true;
+            return result;
+        } finally {
+            record("getBits", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public <V> Set<V> getSet(String key, Class<V> vClass) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Set<V> result = delegate.getSet(key, vClass);
+            success = true;
+            return result;
+        } finally {
+            record("getSet", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public List<Object> getMapValues(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            List<Object> result = delegate.getMapValues(key);
+            success = true;
+            return result;
+        } finally {
+            record("getMapValues", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void addToList(String key, Object datum) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.addToList(key, datum);
+            success = true;
+        } finally {
+            record("addToList", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public void addAllToList(String key, Collection<Object> objects) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            delegate.addAllToList(key, objects);
+            success = true;
+        } finally {
+            record("addAllToList", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public <V> V popFromList(String key, Class<V> vClass) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            V result = delegate.popFromList(key, vClass);
+            success = true;
+            return result;
+        } finally {
+            record("popFromList", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public Integer getListSize(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Integer result = delegate.getListSize(key);
+            success = true;
+            return result;
+        } finally {
+            record("getListSize", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public List<Object> sublist(String key, int start, int end) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            List<Object> result = delegate.sublist(key, start, end);
+            success = true;
+            return result;
+        } finally {
+            record("sublist", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public List<Object> getList(String key) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            List<Object> result = delegate.getList(key);
+            success = true;
+            return result;
+        } finally {
+            record("getList", TaskKeyUtil.keyFamily(key), startNanos, success);
+        }
+    }
+
+    @Override
+    public CachePipeline pipelined() {
+        return new InstrumentedPipeline(delegate.pipelined());
+    }
+
+    /**
+     * 记录一次调用（调用方直接在调用前后取时间，不创建lambda，基本类型结果不装箱）
+     * @param operation  操作名称
+     * @param family     key分类
+     * @param startNanos 开始时间（纳秒）
+     * @param success    是否成功
+     */
+    private void record(String operation, String family, long startNanos, boolean success) {
+        recorder(operation, family).record(System.nanoTime() - startNanos, success);
+    }
+
+    /**
+     * 获取统计记录器
+     * @param operation 操作名称
+     * @param family    key分类
+     * @return 统计记录器
+     */
+    private Recorder recorder(String operation, String family) {
+        ConcurrentMap<String, Recorder> families = recorders.get(operation);
+        if (families == null) {
+            families = recorders.computeIfAbsent(operation, o -> new ConcurrentHashMap<>());
+        }
+        Recorder recorder = families.get(family);
+        if (recorder == null) {
+            recorder = families.computeIfAbsent(family, f -> new Recorder());
+        }
+        return recorder;
+    }
+
+    /**
+     * 多个key的分类（分类相同时取该分类）
+     * @param keys key
+     * @return key分类
+     */
+    private static String familyOf(Collection<String> keys) {
+        String family = null;
+        for (String key : keys) {
+            String f = TaskKeyUtil.keyFamily(key);
+            if (family == null) {
+                family = f;
+            } else if (!family.equals(f)) {
+                return MULTI_FAMILY;
+            }
+        }
+        return family == null ? MULTI_FAMILY : family;
+    }
+
+    /**
+     * 统计记录器
+     */
+    private static class Recorder {
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private void record(long nanos, boolean success) {
+            calls.increment();
+            if (!success) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            int bucket = nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+            histogram.incrementAndGet(bucket);
+        }
+
+        private OperationStats snapshot(String operation, String family) {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new OperationStats(operation, family, calls.sum(), errors.sum(), totalNanos.sum(),
+                    maxNanos.get(), buckets);
+        }
+    }
+
+    /**
+     * 统计一次交互耗时及管道内各操作的管道
+     */
+    private class InstrumentedPipeline implements CachePipeline {
+
+        /**
+         * 被装饰的管道
+         */
+        private final CachePipeline pipeline;
+        /**
+         * 管道内操作的统计记录器（按排队顺序）
+         */
+        private final List<Recorder> queued = new ArrayList<>();
+
+        private InstrumentedPipeline(CachePipeline pipeline) {
+            this.pipeline = pipeline;
+        }
+
+        @Override
+        public PipelineResponse<Object> get(String key) {
+            queue("pipeline.get", key);
+            return pipeline.get(key);
+        }
+
+        @Override
+        public PipelineResponse<Void> set(String key, Object value) {
+            queue("pipeline.set", key);
+            return pipeline.set(key, value);
+        }
+
+        @Override
+        public PipelineResponse<Void> remove(String key) {
+            queue("pipeline.remove", key);
+            return pipeline.remove(key);
+        }
+
+        @Override
+        public PipelineResponse<Void> expire(String key, Long expireTime) {
+            queue("pipeline.expire", key);
+            return pipeline.expire(key, expireTime);
+        }
+
+        @Override
+        public <V> PipelineResponse<V> getHash(String key, String hashKey, Class<V> vClass) {
+            queue("pipeline.getHash", key);
+            return pipeline.getHash(key, hashKey, vClass);
+        }
+
+        @Override
+        public PipelineResponse<Void> setHash(String key, String hashKey, Object value) {
+            queue("pipeline.setHash", key);
+            return pipeline.setHash(key, hashKey, value);
+        }
+
+        @Override
+        public PipelineResponse<Long> incrementHash(String key, String hashKey, long delta) {
+            queue("pipeline.incrementHash", key);
+            return pipeline.incrementHash(key, hashKey, delta);
+        }
+
+        @Override
+        public PipelineResponse<Void> addAllToSet(String key, Collection<?> values) {
+            queue("pipeline.addAllToSet", key);
+            return pipeline.addAllToSet(key, values);
+        }
+
+        @Override
+        public PipelineResponse<Integer> getSetSize(String key) {
+            queue("pipeline.getSetSize", key);
+            return pipeline.getSetSize(key);
+        }
+
+        @Override
+        public PipelineResponse<Long> bitCount(String key) {
+            queue("pipeline.bitCount", key);
+            return pipeline.bitCount(key);
+        }
+
+        @Override
+        public PipelineResponse<Void> setBits(String key, BitSet bits) {
+            queue("pipeline.setBits", key);
+            return pipeline.setBits(key, bits);
+        }
+
+        @Override
+        public void sync() {
+            long startNanos = System.nanoTime();
+            boolean success = false;
+            try {
+                pipeline.sync();
+                success = true;
+            } finally {
+                long nanos = System.nanoTime() - startNanos;
+                recorder("pipeline.sync", MULTI_FAMILY).record(nanos, success);
+                int size = queued.size();
+                for (Recorder recorder : queued) {  // 单个操作耗时按整次交互平均分摊
+                    recorder.record(nanos / size, success);
+                }
+                queued.clear();
+            }
+        }
+
+        /**
+         * 记录排队的操作
+         * @param operation 操作名称
+         * @param key       key
+         */
+        private void queue(String operation, String key) {
+            queued.add(recorder(operation, TaskKeyUtil.keyFamily(key)));
+        }
+    }
+}
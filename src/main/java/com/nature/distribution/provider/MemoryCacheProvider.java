@@ -0,0 +1,697 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.codec.CompactModelCodec;
+import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.definition.Callable;
+import com.nature.distribution.definition.Codec;
+import com.nature.distribution.definition.Updatable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 内存缓存提供者（单机执行及测试使用，不需要外部缓存）
+ * 数据存放在ConcurrentHashMap中，单个key上的原子操作及集合类型数据的修改均在compute中完成（与删除、过期互斥），
+ * 过期由哈希时间轮清除（读取时同时检查是否过期），与redis一致，集合类型数据为空时删除key
+ * 值经编解码器复制后存放，读取时同样返回副本（与外部缓存一致，取出的对象修改后需要重新写入）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 16:30
+ */
+public class MemoryCacheProvider implements CacheProvider {
+
+    /**
+     * 时间轮刻度（毫秒）
+     */
+    private static final long TICK_MILLIS = 100L;
+    /**
+     * 时间轮格子数量
+     */
+    private static final int WHEEL_SIZE = 512;
+    /**
+     * 默认锁定时间（秒，与锁续期的默认锁定时间一致）
+     */
+    private static final long DEFAULT_LOCK_SECONDS = 60L;
+
+    /**
+     * 数据
+     */
+    private final ConcurrentMap<String, Entry> store = new ConcurrentHashMap<>();
+    /**
+     * 过期时间轮
+     */
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_MILLIS, WHEEL_SIZE, this::expireIfDue);
+    /**
+     * 值复制使用的编解码器
+     */
+    private Codec codec = new CompactModelCodec();
+
+    /**
+     * 设置值复制使用的编解码器（默认为紧凑二进制编码）
+     * @param codec 编解码器
+     */
+    public void setCodec(Codec codec) {
+        if (codec == null) {
+            throw new NullPointerException("codec is null");
+        }
+        this.codec = codec;
+    }
+
+    @Override
+    public Codec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        store.put(key, new Entry(copy(value)));
+    }
+
+    @Override
+    public Object get(String key) {
+        Entry entry = alive(key);
+        return entry == null ? null : copy(entry.value);
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        Pattern regex = Pattern.compile(globToRegex(pattern));
+        Set<String> keys = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Entry> entry : store.entrySet()) {
+            if (!entry.getValue().isExpired(now) && regex.matcher(entry.getKey()).matches()) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public void delete(Set<String> keys) {
+        for (String key : keys) {
+            store.remove(key);
+        }
+    }
+
+    /**
+     * 锁定指定时间（未指定时按默认锁定时间过期，避免持有者宕机后锁永不释放）
+     * @param lockKey     锁定key
+     * @param lockSeconds 锁定时间（秒）
+     * @return 锁定结果
+     */
+    @Override
+    public boolean lock(String lockKey, Long lockSeconds) {
+        long deadline = System.currentTimeMillis() + (lockSeconds != null ? lockSeconds : DEFAULT_LOCK_SECONDS) * 1000;
+        boolean[] locked = new boolean[1];
+        store.compute(lockKey, (k, entry) -> {
+            if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+                return entry;
+            }
+            locked[0] = true;
+            Entry lock = new Entry(Boolean.TRUE);
+            lock.expireAt = deadline;
+            return lock;
+        });
+        if (locked[0]) {
+            timingWheel.schedule(lockKey, deadline);
+        }
+        return locked[0];
+    }
+
+    @Override
+    public void set(String key, Object value, long expireMillis) {
+        Entry entry = new Entry(copy(value));
+        entry.expireAt = System.currentTimeMillis() + expireMillis;
+        store.put(key, entry);
+        timingWheel.schedule(key, entry.expireAt);
+    }
+
+    @Override
+    public void expire(String key, Long expireTime) {
+        expireMillis(key, expireTime * 1000);
+    }
+
+    @Override
+    public void expireMillis(String key, long expireMillis) {
+        long deadline = System.currentTimeMillis() + expireMillis;
+        Entry entry = store.computeIfPresent(key, (k, e) -> {
+            if (e.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            e.expireAt = deadline;
+            return e;
+        });
+        if (entry != null) {
+            timingWheel.schedule(key, deadline);
+        }
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return alive(key) != null;
+    }
+
+    @Override
+    public Integer incrementAndGet(String key, long value) {
+        Entry entry = store.compute(key, (k, e) -> {
+            boolean exists = e != null && !e.isExpired(System.currentTimeMillis());
+            long current = exists ? ((Number) e.value).longValue() : 0L;
+            Entry counter = new Entry((int) (current + value));
+            counter.expireAt = exists ? e.expireAt : 0L;
+            return counter;
+        });
+        return (Integer) entry.value;
+    }
+
+    @Override
+    public Integer claim(String key, int limit) {
+        Integer[] claimed = new Integer[1];
+        store.compute(key, (k, e) -> {
+            boolean exists = e != null && !e.isExpired(System.currentTimeMillis());
+            int current = exists ? ((Number) e.value).intValue() : 0;
+            if (current >= limit) { // 编号已领完不再递增
+                return exists ? e : null;
+            }
+            claimed[0] = current + 1;
+            Entry counter = new Entry(current + 1);
+            counter.expireAt = exists ? e.expireAt : 0L;
+            return counter;
+        });
+        return claimed[0];
+    }
+
+    @Override
+    public void setHash(String key, String hashKey, Object value) {
+        Object copy = copy(value);
+        mutateHash(key, true, hash -> hash.put(hashKey, copy));
+    }
+
+    @Override
+    public Object getHash(String key, String hashKey) {
+        Map<String, Object> hash = hashOf(key);
+        return hash == null ? null : copy(hash.get(hashKey));
+    }
+
+    @Override
+    public void remove(String key) {
+        store.remove(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V getHash(String key, String hashKey, Class<V> vClass) {
+        return (V) getHash(key, hashKey);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        return mutateHash(key, true, hash -> {
+            Object[] updated = new Object[1];
+            hash.compute(hashKey, (k, v) -> {    // 在哈希的同一个槽内计算，保证原子性
+                V value = updater.update((V) copy(v));  // 更新逻辑只能修改副本，重复调用或不更新时不影响已存值
+                updated[0] = value;
+                return value == null ? v : copy(value);
+            });
+            return (V) updated[0];
+        });
+    }
+
+    @Override
+    public long incrementHash(String key, String hashKey, long delta) {
+        Object value = mutateHash(key, true,
+                hash -> hash.merge(hashKey, delta, (v, d) -> ((Number) v).longValue() + (Long) d));
+        return ((Number) value).longValue();
+    }
+
+    @Override
+    public void deleteHash(String key, String hashKey) {
+        mutateHash(key, false, hash -> hash.remove(hashKey));
+    }
+
+    @Override
+    public Map<String, Object> getMap(String key) {
+        Map<String, Object> hash = hashOf(key);
+        Map<String, Object> map = new HashMap<>();
+        if (hash != null) {
+            for (Map.Entry<String, Object> entry : hash.entrySet()) {
+                map.put(entry.getKey(), copy(entry.getValue()));
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public Set<String> getMapKeys(String key) {
+        Map<String, Object> hash = hashOf(key);
+        return hash == null ? new HashSet<>() : new HashSet<>(hash.keySet());
+    }
+
+    @Override
+    public void addToSet(String key, Object value) {
+        Object copy = copy(value);
+        mutateSet(key, set -> set.add(copy));
+    }
+
+    @Override
+    public void addAllToSet(String key, Collection<?> values) {
+        List<Object> copies = copyAll(values);
+        mutateSet(key, set -> set.addAll(copies));
+    }
+
+    @Override
+    public boolean hasInSet(String key, Object value) {
+        Set<Object> set = setOf(key);
+        return set != null && set.contains(value);
+    }
+
+    @Override
+    public int getSetSize(String key) {
+        Set<Object> set = setOf(key);
+        return set == null ? 0 : set.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Set<V> getSet(String key, Class<V> vClass) {
+        Set<Object> set = setOf(key);
+        return set == null ? new HashSet<>() : new HashSet<>((List<V>) copyAll(set));
+    }
+
+    @Override
+    public boolean supportsAtomicIncrement() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBitmap() {
+        return true;
+    }
+
+    @Override
+    public boolean setBit(String key, long offset, boolean value) {
+        int index = toIndex(offset);
+        return mutateBitmap(key, bits -> {
+            synchronized (bits) {   // 读取不在compute中，仍需要与读取互斥
+                boolean old = bits.get(index);
+                bits.set(index, value);
+                return old;
+            }
+        });
+    }
+
+    @Override
+    public void setBits(String key, BitSet bits) {
+        mutateBitmap(key, bitmap -> {
+            synchronized (bitmap) {
+                bitmap.or(bits);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean getBit(String key, long offset) {
+        BitSet bits = bitmapOf(key);
+        if (bits == null) {
+            return false;
+        }
+        synchronized (bits) {
+            return bits.get(toIndex(offset));
+        }
+    }
+
+    @Override
+    public long bitCount(String key) {
+        BitSet bits = bitmapOf(key);
+        if (bits == null) {
+            return 0;
+        }
+        synchronized (bits) {
+            return bits.cardinality();
+        }
+    }
+
+    @Override
+    public BitSet getBits(String key, long start, long end) {
+        BitSet bits = bitmapOf(key);
+        BitSet range = new BitSet();
+        if (bits == null) {
+            return range;
+        }
+        synchronized (bits) {
+            int to = end < 0 ? bits.length() : (int) Math.min(end, bits.length());
+            for (int i = bits.nextSetBit(toIndex(start)); i >= 0 && i < to; i = bits.nextSetBit(i + 1)) {
+                range.set(i);
+            }
+        }
+        return range;
+    }
+
+    @Override
+    public List<Object> getMapValues(String key) {
+        Map<String, Object> hash = hashOf(key);
+        return hash == null ? new ArrayList<>() : copyAll(hash.values());
+    }
+
+    @Override
+    public void addToList(String key, Object datum) {
+        Object copy = copy(datum);
+        mutateList(key, true, list -> {
+            synchronized (list) {
+                return list.add(copy);
+            }
+        });
+    }
+
+    @Override
+    public void addAllToList(String key, Collection<Object> objects) {
+        List<Object> copies = copyAll(objects);
+        mutateList(key, true, list -> {
+            synchronized (list) {
+                return list.addAll(copies);
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V popFromList(String key, Class<V> vClass) {
+        return (V) mutateList(key, false, list -> {
+            synchronized (list) {
+                return ((LinkedList<Object>) list).pollFirst();
+            }
+        });
+    }
+
+    @Override
+    public Integer getListSize(String key) {
+        List<Object> list = listOf(key);
+        if (list == null) {
+            return 0;
+        }
+        synchronized (list) {
+            return list.size();
+        }
+    }
+
+    /**
+     * 获取list指定位置的子集（与redis的LRANGE一致：包含结束位置，负数表示从末尾倒数）
+     * @param key   key
+     * @param start 开始位置
+     * @param end   结束位置
+     * @return 子集
+     */
+    @Override
+    public List<Object> sublist(String key, int start, int end) {
+        List<Object> list = listOf(key);
+        if (list == null) {
+            return new ArrayList<>();
+        }
+        synchronized (list) {
+            int size = list.size();
+            int from = Math.max(start < 0 ? size + start : start, 0);
+            int to = Math.min(end < 0 ? size + end : end, size - 1);
+            return from > to ? new ArrayList<>() : copyAll(list.subList(from, to + 1));
+        }
+    }
+
+    @Override
+    public List<Object> getList(String key) {
+        List<Object> list = listOf(key);
+        if (list == null) {
+            return new ArrayList<>();
+        }
+        synchronized (list) {
+            return copyAll(list);
+        }
+    }
+
+    /**
+     * 剩余过期时间（与redis的PTTL一致）
+     * @param key key
+     * @return 剩余毫秒数，-1表示不过期，-2表示不存在
+     */
+    long ttlMillis(String key) {
+        Entry entry = alive(key);
+        if (entry == null) {
+            return -2L;
+        }
+        long expireAt = entry.expireAt;
+        return expireAt == 0 ? -1L : Math.max(expireAt - System.currentTimeMillis(), 0L);
+    }
+
+    /**
+     * 停止过期时间轮
+     */
+    public void shutdown() {
+        timingWheel.stop();
+    }
+
+    /**
+     * 经编解码器复制值（不可变类型直接使用）
+     * @param value 值
+     * @return 副本
+     */
+    private Object copy(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean) {
+            return value;
+        }
+        return codec.decode(codec.encode(value));
+    }
+
+    /**
+     * 逐个复制值
+     * @param values 值
+     * @return 副本列表
+     */
+    private List<Object> copyAll(Collection<?> values) {
+        List<Object> copies = new ArrayList<>(values.size());
+        for (Object value : values) {
+            copies.add(copy(value));
+        }
+        return copies;
+    }
+
+    /**
+     * 时间轮到期回调，key仍然过期才清除（期间被续期的由新的定时处理）
+     * @param key key
+     */
+    private void expireIfDue(String key) {
+        store.computeIfPresent(key, (k, e) -> e.isExpired(System.currentTimeMillis()) ? null : e);
+    }
+
+    /**
+     * 获取未过期的数据，已过期的顺便清除
+     * @param key key
+     * @return 数据
+     */
+    private Entry alive(String key) {
+        Entry entry = store.get(key);
+        if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> hashOf(String key) {
+        return (Map<String, Object>) container(key, Map.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Object> setOf(String key) {
+        return (Set<Object>) container(key, Set.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> listOf(String key) {
+        return (List<Object>) container(key, List.class);
+    }
+
+    private BitSet bitmapOf(String key) {
+        return (BitSet) container(key, BitSet.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R mutateHash(String key, boolean create, Function<Map<String, Object>, R> mutation) {
+        return (R) mutate(key, Map.class, create ? ConcurrentHashMap::new : null,
+                hash -> mutation.apply((Map<String, Object>) hash));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R mutateSet(String key, Function<Set<Object>, R> mutation) {
+        return (R) mutate(key, Set.class, ConcurrentHashMap::newKeySet, set -> mutation.apply((Set<Object>) set));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R mutateList(String key, boolean create, Function<List<Object>, R> mutation) {
+        return (R) mutate(key, List.class, create ? LinkedList::new : null,
+                list -> mutation.apply((List<Object>) list));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R mutateBitmap(String key, Function<BitSet, R> mutation) {
+        return (R) mutate(key, BitSet.class, BitSet::new, bits -> mutation.apply((BitSet) bits));
+    }
+
+    /**
+     * 获取集合类型的数据（只读，修改需要通过mutate）
+     * @param key  key
+     * @param type 集合类型
+     * @return 集合，不存在时返回null
+     */
+    private Object container(String key, Class<?> type) {
+        Entry entry = alive(key);
+        return entry == null ? null : checkType(key, entry, type);
+    }
+
+    /**
+     * 在key所在的槽内修改集合类型的数据（与删除、过期互斥，不会修改已被移除的集合）
+     * 修改后集合为空时删除key（位图除外）
+     * @param key      key
+     * @param type     集合类型
+     * @param factory  集合创建逻辑，null表示不存在时不创建
+     * @param mutation 修改逻辑
+     * @return 修改结果，不存在且不创建时返回null
+     */
+    private Object mutate(String key, Class<?> type, Callable<Object> factory, Function<Object, Object> mutation) {
+        Object[] result = new Object[1];
+        store.compute(key, (k, e) -> {
+            if (e == null || e.isExpired(System.currentTimeMillis())) {
+                if (factory == null) {
+                    return null;
+                }
+                e = new Entry(factory.call());
+            }
+            Object container = checkType(key, e, type);
+            result[0] = mutation.apply(container);
+            return isEmpty(container) ? null : e;
+        });
+        return result[0];
+    }
+
+    /**
+     * 校验数据类型
+     * @param key   key
+     * @param entry 数据
+     * @param type  集合类型
+     * @return 集合
+     */
+    private static Object checkType(String key, Entry entry, Class<?> type) {
+        if (!type.isInstance(entry.value)) {
+            throw new RuntimeException(String.format("WRONGTYPE key %s hold %s", key,
+                    entry.value == null ? null : entry.value.getClass().getName()));
+        }
+        return entry.value;
+    }
+
+    /**
+     * 集合是否为空（位图与redis一致，清零后仍保留）
+     * @param container 集合
+     * @return true：为空
+     */
+    private static boolean isEmpty(Object container) {
+        if (container instanceof Map) {
+            return ((Map<?, ?>) container).isEmpty();
+        }
+        return container instanceof Collection && ((Collection<?>) container).isEmpty();
+    }
+
+    /**
+     * 位置转换为BitSet下标
+     * @param offset 位置
+     * @return 下标
+     */
+    private static int toIndex(long offset) {
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new RuntimeException(String.format("bit offset %s out of range", offset));
+        }
+        return (int) offset;
+    }
+
+    /**
+     * 匹配规则（与redis的KEYS一致，支持*、?、[]及\转义）转换为正则表达式
+     * @param pattern 匹配规则
+     * @return 正则表达式
+     */
+    private static String globToRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        boolean inClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(escape(pattern.charAt(++i)));
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                    regex.append(']');
+                } else if (c == '^' && pattern.charAt(i - 1) == '[') {
+                    regex.append('^');
+                } else if (c == '-') {
+                    regex.append('-');
+                } else {
+                    regex.append(escape(c));
+                }
+            } else if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '[') {
+                inClass = true;
+                regex.append('[');
+            } else {
+                regex.append(escape(c));
+            }
+        }
+        if (inClass) {  // 未闭合的[按普通字符处理
+            return globToRegex(pattern.replace("[", "\\["));
+        }
+        return regex.toString();
+    }
+
+    /**
+     * 正则表达式中的字符转义
+     * @param c 字符
+     * @return 转义后的字符
+     */
+    private static String escape(char c) {
+        return Character.isLetterOrDigit(c) ? String.valueOf(c) : "\\" + c;
+    }
+
+    /**
+     * 缓存数据
+     */
+    private static class Entry {
+
+        /**
+         * 值（普通值、哈希、set、list或位图）
+         */
+        private final Object value;
+        /**
+         * 过期时间（毫秒时间戳，0表示不过期）
+         */
+        private volatile long expireAt;
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt > 0 && expireAt <= now;
+        }
+    }
+}
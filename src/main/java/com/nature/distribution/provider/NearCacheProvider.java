@@ -0,0 +1,277 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.model.PipelineResponse;
+import com.nature.distribution.util.TaskKeyUtil;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 带本地缓存的缓存提供者
+ * 指定前缀的key（一次计算后不再变化或极少变化的值）读取后在本地缓存指定时间，通过本提供者写入时清除本地缓存，
+ * 其他机器修改时需要调用invalidateLocal清除或等待本地缓存过期
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 17:30
+ */
+public class NearCacheProvider extends ForwardingCacheProvider {
+
+    /**
+     * 默认本地缓存时间（毫秒）
+     */
+    private static final long DEFAULT_TTL_MILLIS = 60000L;
+
+    /**
+     * 本地缓存的key前缀
+     */
+    private final List<String> keyPrefixes;
+    /**
+     * 本地缓存时间（毫秒）
+     */
+    private final long ttlMillis;
+    /**
+     * 本地缓存
+     */
+    private final ConcurrentMap<String, Cached> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 本地缓存数据总数及任务总数
+     * @param delegate 被装饰的缓存提供者
+     */
+    public NearCacheProvider(CacheProvider delegate) {
+        this(delegate, TaskKeyUtil.immutableKeyPrefixes(), DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param delegate    被装饰的缓存提供者
+     * @param keyPrefixes 本地缓存的key前缀
+     * @param ttlMillis   本地缓存时间（毫秒）
+     */
+    public NearCacheProvider(CacheProvider delegate, Collection<String> keyPrefixes, long ttlMillis) {
+        super(delegate);
+        if (ttlMillis <= 0) {
+            throw new RuntimeException("本地缓存时间必须大于0");
+        }
+        this.keyPrefixes = new ArrayList<>(keyPrefixes);
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Object get(String key) {
+        if (!isNear(key)) {
+            return delegate.get(key);
+        }
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(key);
+        if (cached != null && cached.expireAt > now) {
+            return cached.value;
+        }
+        Object value = delegate.get(key);
+        if (value != null) {    // 尚未计算出的值不缓存
+            cache.put(key, new Cached(value, now + ttlMillis));
+        } else {
+            cache.remove(key);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        if (isNear(key)) {
+            Cached cached = cache.get(key);
+            if (cached != null && cached.expireAt > System.currentTimeMillis()) {
+                return true;
+            }
+        }
+        return delegate.hasKey(key);
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        delegate.set(key, value);
+        cache.remove(key);
+    }
+
+    @Override
+    public void set(String key, Object value, long expireMillis) {
+        delegate.set(key, value, expireMillis);
+        cache.remove(key);
+    }
+
+    @Override
+    public void expireMillis(String key, long expireMillis) {
+        delegate.expireMillis(key, expireMillis);
+        cache.remove(key);
+    }
+
+    @Override
+    public void remove(String key) {
+        delegate.remove(key);
+        cache.remove(key);
+    }
+
+    @Override
+    public void delete(Set<String> keys) {
+        delegate.delete(keys);
+        for (String key : keys) {
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    public void expire(String key, Long expireTime) {
+        delegate.expire(key, expireTime);
+        cache.remove(key);
+    }
+
+    @Override
+    public Integer incrementAndGet(String key, long value) {
+        Integer result = delegate.incrementAndGet(key, value);
+        cache.remove(key);
+        return result;
+    }
+
+    @Override
+    public Integer claim(String key, int limit) {
+        Integer result = delegate.claim(key, limit);
+        cache.remove(key);
+        return result;
+    }
+
+    @Override
+    public CachePipeline pipelined() {
+        return new NearCachePipeline(delegate.pipelined());
+    }
+
+    @Override
+    public void invalidateLocal(String key) {
+        cache.remove(key);
+        delegate.invalidateLocal(key);
+    }
+
+    /**
+     * 清除全部本地缓存
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * 是否本地缓存的key
+     * @param key key
+     * @return true：本地缓存
+     */
+    private boolean isNear(String key) {
+        for (String prefix : keyPrefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写入时清除本地缓存的管道
+     */
+    private class NearCachePipeline implements CachePipeline {
+
+        /**
+         * 被装饰的管道
+         */
+        private final CachePipeline pipeline;
+
+        private NearCachePipeline(CachePipeline pipeline) {
+            this.pipeline = pipeline;
+        }
+
+        @Override
+        public PipelineResponse<Object> get(String key) {
+            return pipeline.get(key);
+        }
+
+        @Override
+        public PipelineResponse<Void> set(String key, Object value) {
+            cache.remove(key);
+            return pipeline.set(key, value);
+        }
+
+        @Override
+        public PipelineResponse<Void> remove(String key) {
+            cache.remove(key);
+            return pipeline.remove(key);
+        }
+
+        @Override
+        public PipelineResponse<Void> expire(String key, Long expireTime) {
+            cache.remove(key);
+            return pipeline.expire(key, expireTime);
+        }
+
+        @Override
+        public <V> PipelineResponse<V> getHash(String key, String hashKey, Class<V> vClass) {
+            return pipeline.getHash(key, hashKey, vClass);
+        }
+
+        @Override
+        public PipelineResponse<Void> setHash(String key, String hashKey, Object value) {
+            return pipeline.setHash(key, hashKey, value);
+        }
+
+        @Override
+        public PipelineResponse<Long> incrementHash(String key, String hashKey, long delta) {
+            return pipeline.incrementHash(key, hashKey, delta);
+        }
+
+        @Override
+        public PipelineResponse<Void> addAllToSet(String key, Collection<?> values) {
+            return pipeline.addAllToSet(key, values);
+        }
+
+        @Override
+        public PipelineResponse<Integer> getSetSize(String key) {
+            return pipeline.getSetSize(key);
+        }
+
+        @Override
+        public PipelineResponse<Long> bitCount(String key) {
+            return pipeline.bitCount(key);
+        }
+
+        @Override
+        public PipelineResponse<Void> setBits(String key, BitSet bits) {
+            return pipeline.setBits(key, bits);
+        }
+
+        @Override
+        public void sync() {
+            pipeline.sync();
+        }
+    }
+
+    /**
+     * 本地缓存的值
+     */
+    private static class Cached {
+
+        /**
+         * 值
+         */
+        private final Object value;
+        /**
+         * 过期时间
+         */
+        private final long expireAt;
+
+        private Cached(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
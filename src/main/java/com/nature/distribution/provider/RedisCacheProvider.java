@@ -0,0 +1,809 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.codec.JavaSerializationCodec;
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.definition.Codec;
+import com.nature.distribution.definition.Updatable;
+import com.nature.distribution.model.PipelineResponse;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * redis缓存提供者（需要引入jedis）
+ * 值通过编解码器编码后加类型标记字节保存，整数保存为十进制文本以便与INCR等命令共用（类型标记不是数字及负号，解码无歧义）；
+ * 位图批量置位使用BITFIELD（整字节按u8设置），
+ * 领取编号、hash原子更新、解锁通过lua脚本原子执行，keys使用SCAN遍历，锁使用SET NX PX并在解锁时校验持有者
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 19:20
+ */
+public class RedisCacheProvider implements CacheProvider {
+
+    /**
+     * 领取编号：计数未达上限时递增并返回，否则返回nil
+     */
+    private static final Script CLAIM_SCRIPT = new Script(
+            "local n = tonumber(redis.call('get', KEYS[1]) or '0') " +
+            "if n >= tonumber(ARGV[1]) then return false end " +
+            "return redis.call('incr', KEYS[1])");
+    /**
+     * hash比较并设置：ARGV[2]为0表示期望不存在，否则期望值等于ARGV[3]，满足时写入ARGV[4]
+     */
+    private static final Script HASH_CAS_SCRIPT = new Script(
+            "local cur = redis.call('hget', KEYS[1], ARGV[1]) " +
+            "if ARGV[2] == '0' then if cur then return 0 end " +
+            "elseif cur ~= ARGV[3] then return 0 end " +
+            "redis.call('hset', KEYS[1], ARGV[1], ARGV[4]) return 1");
+    /**
+     * 解锁：持有者一致才删除
+     */
+    private static final Script UNLOCK_SCRIPT = new Script(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0");
+    /**
+     * 默认锁定时间（秒，与锁续期的默认锁定时间一致）
+     */
+    private static final long DEFAULT_LOCK_SECONDS = 60L;
+    /**
+     * SCAN每次遍历数量
+     */
+    private static final int SCAN_COUNT = 1000;
+    /**
+     * 空字节
+     */
+    private static final byte[] EMPTY = new byte[0];
+    /**
+     * 类型标记：编解码器编码的值（非数字及负号，与十进制整数文本区分）
+     */
+    private static final byte TYPE_CODEC = 0;
+    /**
+     * 每个BITFIELD命令的最大子命令数
+     */
+    private static final int BITFIELD_BATCH = 512;
+    /**
+     * BITFIELD参数
+     */
+    private static final byte[] BITFIELD_SET = SafeEncoder.encode("SET");
+    private static final byte[] BITFIELD_U1 = SafeEncoder.encode("u1");
+    private static final byte[] BITFIELD_U8 = SafeEncoder.encode("u8");
+    private static final byte[] BITFIELD_ONE = SafeEncoder.encode("1");
+    private static final byte[] BITFIELD_BYTE = SafeEncoder.encode("255");
+
+    /**
+     * 连接池
+     */
+    private final JedisPool pool;
+    /**
+     * 锁持有者标识前缀（实例唯一）
+     */
+    private final String ownerPrefix = UUID.randomUUID().toString() + ":";
+    /**
+     * 值编解码器
+     */
+    private Codec codec = JavaSerializationCodec.getInstance();
+
+    public RedisCacheProvider(JedisPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("jedis pool is null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * 设置值编解码器
+     * @param codec 编解码器
+     */
+    public void setCodec(Codec codec) {
+        if (codec == null) {
+            throw new NullPointerException("codec is null");
+        }
+        this.codec = codec;
+    }
+
+    @Override
+    public Codec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        execute(jedis -> jedis.set(key(key), encode(value)));
+    }
+
+    @Override
+    public void set(String key, Object value, long expireMillis) {
+        execute(jedis -> jedis.set(key(key), encode(value), SetParams.setParams().px(expireMillis)));
+    }
+
+    @Override
+    public Object get(String key) {
+        return decode(execute(jedis -> jedis.get(key(key))));
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        return execute(jedis -> {
+            Set<String> keys = new HashSet<>();
+            ScanParams params = new ScanParams().match(pattern).count(SCAN_COUNT);
+            String cursor = ScanParams.SCAN_POINTER_START;
+            do {
+                ScanResult<String> result = jedis.scan(cursor, params);
+                keys.addAll(result.getResult());
+                cursor = result.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+            return keys;
+        });
+    }
+
+    @Override
+    public void delete(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        execute(jedis -> jedis.del(keys.toArray(new String[0])));
+    }
+
+    /**
+     * 加锁（未指定锁定时间时使用默认锁定时间，避免持有者宕机后锁永不释放，持有期间由续期延长）
+     */
+    @Override
+    public boolean lock(String lockKey, Long lockSeconds) {
+        SetParams params = SetParams.setParams().nx()
+                .px((lockSeconds != null ? lockSeconds : DEFAULT_LOCK_SECONDS) * 1000);
+        return "OK".equals(execute(jedis -> jedis.set(lockKey, owner(), params)));
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+        execute(jedis -> eval(jedis, UNLOCK_SCRIPT, Collections.singletonList(key(lockKey)),
+                Collections.singletonList(SafeEncoder.encode(owner()))));
+    }
+
+    @Override
+    public void expire(String key, Long expireTime) {
+        execute(jedis -> jedis.pexpire(key(key), expireTime * 1000));
+    }
+
+    @Override
+    public void expireMillis(String key, long expireMillis) {
+        execute(jedis -> jedis.pexpire(key(key), expireMillis));
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return execute(jedis -> jedis.exists(key(key)));
+    }
+
+    @Override
+    public Integer incrementAndGet(String key, long value) {
+        return execute(jedis -> jedis.incrBy(key(key), value)).intValue();
+    }
+
+    @Override
+    public Integer claim(String key, int limit) {
+        Object no = execute(jedis -> eval(jedis, CLAIM_SCRIPT, Collections.singletonList(key(key)),
+                Collections.singletonList(SafeEncoder.encode(String.valueOf(limit)))));
+        return no == null ? null : ((Long) no).intValue();
+    }
+
+    @Override
+    public void setHash(String key, String hashKey, Object value) {
+        execute(jedis -> jedis.hset(key(key), key(hashKey), encode(value)));
+    }
+
+    @Override
+    public Object getHash(String key, String hashKey) {
+        return decode(execute(jedis -> jedis.hget(key(key), key(hashKey))));
+    }
+
+    @Override
+    public void remove(String key) {
+        execute(jedis -> jedis.del(key(key)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V getHash(String key, String hashKey, Class<V> vClass) {
+        return (V) getHash(key, hashKey);
+    }
+
+    /**
+     * 原子更新hash值（读取后通过脚本比较并设置，被其他机器修改时重新读取计算）
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        byte[] k = key(key);
+        byte[] field = key(hashKey);
+        return execute(jedis -> {
+            while (true) {
+                byte[] current = jedis.hget(k, field);
+                V value = (V) decode(current);
+                V updated = updater.update(value);
+                if (updated == null) {  // 未更新
+                    return null;
+                }
+                List<byte[]> args = Arrays.asList(field, SafeEncoder.encode(current == null ? "0" : "1"),
+                        current == null ? EMPTY : current, encode(updated));
+                Object swapped = eval(jedis, HASH_CAS_SCRIPT, Collections.singletonList(k), args);
+                if (Long.valueOf(1).equals(swapped)) {
+                    return updated;
+                }
+            }
+        });
+    }
+
+    @Override
+    public long incrementHash(String key, String hashKey, long delta) {
+        return execute(jedis -> jedis.hincrBy(key(key), key(hashKey), delta));
+    }
+
+    @Override
+    public void deleteHash(String key, String hashKey) {
+        execute(jedis -> jedis.hdel(key(key), key(hashKey)));
+    }
+
+    @Override
+    public Map<String, Object> getMap(String key) {
+        Map<byte[], byte[]> hash = execute(jedis -> jedis.hgetAll(key(key)));
+        Map<String, Object> map = new HashMap<>();
+        for (Map.Entry<byte[], byte[]> entry : hash.entrySet()) {
+            map.put(SafeEncoder.encode(entry.getKey()), decode(entry.getValue()));
+        }
+        return map;
+    }
+
+    @Override
+    public Set<String> getMapKeys(String key) {
+        return execute(jedis -> jedis.hkeys(key));
+    }
+
+    @Override
+    public void addToSet(String key, Object value) {
+        execute(jedis -> jedis.sadd(key(key), encode(value)));
+    }
+
+    @Override
+    public void addAllToSet(String key, Collection<?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        execute(jedis -> jedis.sadd(key(key), encodeAll(values)));
+    }
+
+    @Override
+    public boolean hasInSet(String key, Object value) {
+        return execute(jedis -> jedis.sismember(key(key), encode(value)));
+    }
+
+    @Override
+    public int getSetSize(String key) {
+        return execute(jedis -> jedis.scard(key(key))).intValue();
+    }
+
+    @Override
+    public boolean supportsAtomicIncrement() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBitmap() {
+        return true;
+    }
+
+    @Override
+    public boolean setBit(String key, long offset, boolean value) {
+        return execute(jedis -> jedis.setbit(key(key), offset, value));
+    }
+
+    @Override
+    public void setBits(String key, BitSet bits) {
+        if (bits.isEmpty()) {
+            return;
+        }
+        List<byte[][]> commands = bitfieldSets(bits);
+        execute(jedis -> {
+            if (commands.size() == 1) {
+                jedis.bitfield(key(key), commands.get(0));
+                return null;
+            }
+            Pipeline pipeline = jedis.pipelined();
+            for (byte[][] arguments : commands) {
+                pipeline.bitfield(key(key), arguments);
+            }
+            pipeline.sync();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean getBit(String key, long offset) {
+        return execute(jedis -> jedis.getbit(key(key), offset));
+    }
+
+    @Override
+    public long bitCount(String key) {
+        return execute(jedis -> jedis.bitcount(key(key)));
+    }
+
+    /**
+     * 获取位图指定范围（按字节范围读取后转换，redis中每个字节高位在前）
+     */
+    @Override
+    public BitSet getBits(String key, long start, long end) {
+        long startByte = start / 8;
+        long endByte = end < 0 ? -1 : (end - 1) / 8;
+        BitSet bits = new BitSet();
+        if (end >= 0 && end <= start) {
+            return bits;
+        }
+        byte[] bytes = execute(jedis -> jedis.getrange(key(key), startByte, endByte));
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xFF;
+            for (int bit = 0; bit < 8 && b != 0; bit++) {
+                if ((b & (0x80 >>> bit)) != 0) {
+                    long offset = (startByte + i) * 8 + bit;
+                    if (offset >= start && (end < 0 || offset < end)) {
+                        bits.set((int) offset);
+                    }
+                }
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Set<V> getSet(String key, Class<V> vClass) {
+        Set<byte[]> members = execute(jedis -> jedis.smembers(key(key)));
+        Set<V> set = new HashSet<>();
+        for (byte[] member : members) {
+            set.add((V) decode(member));
+        }
+        return set;
+    }
+
+    @Override
+    public List<Object> getMapValues(String key) {
+        return decodeAll(execute(jedis -> jedis.hvals(key(key))));
+    }
+
+    @Override
+    public void addToList(String key, Object datum) {
+        execute(jedis -> jedis.rpush(key(key), encode(datum)));
+    }
+
+    @Override
+    public void addAllToList(String key, Collection<Object> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        execute(jedis -> jedis.rpush(key(key), encodeAll(objects)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V popFromList(String key, Class<V> vClass) {
+        return (V) decode(execute(jedis -> jedis.lpop(key(key))));
+    }
+
+    @Override
+    public Integer getListSize(String key) {
+        return execute(jedis -> jedis.llen(key(key))).intValue();
+    }
+
+    @Override
+    public List<Object> sublist(String key, int start, int end) {
+        return decodeAll(execute(jedis -> jedis.lrange(key(key), start, end)));
+    }
+
+    @Override
+    public List<Object> getList(String key) {
+        return decodeAll(execute(jedis -> jedis.lrange(key(key), 0, -1)));
+    }
+
+    @Override
+    public CachePipeline pipelined() {
+        return new RedisCachePipeline();
+    }
+
+    /**
+     * 从连接池获取连接执行
+     * @param action 执行逻辑
+     * @param <R>    结果类型
+     * @return 结果
+     */
+    private <R> R execute(Function<Jedis, R> action) {
+        try (Jedis jedis = pool.getResource()) {
+            return action.apply(jedis);
+        }
+    }
+
+    /**
+     * 执行脚本（优先按摘要执行，服务端未缓存脚本时发送脚本内容）
+     * @param jedis 连接
+     * @param script 脚本
+     * @param keys   key
+     * @param args   参数
+     * @return 结果
+     */
+    private static Object eval(Jedis jedis, Script script, List<byte[]> keys, List<byte[]> args) {
+        try {
+            return jedis.evalsha(script.sha, keys, args);
+        } catch (JedisNoScriptException e) {
+            return jedis.eval(script.body, keys, args);
+        }
+    }
+
+    /**
+     * 当前线程的锁持有者标识
+     * @return 持有者标识
+     */
+    private String owner() {
+        return ownerPrefix + Thread.currentThread().getId();
+    }
+
+    private static byte[] key(String key) {
+        return SafeEncoder.encode(key);
+    }
+
+    /**
+     * 编码（整数保存为十进制文本，其余值为类型标记加编解码器编码）
+     * @param value 值
+     * @return 字节
+     */
+    private byte[] encode(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return SafeEncoder.encode(value.toString());
+        }
+        byte[] encoded = codec.encode(value);
+        byte[] bytes = new byte[encoded.length + 1];
+        bytes[0] = TYPE_CODEC;
+        System.arraycopy(encoded, 0, bytes, 1, encoded.length);
+        return bytes;
+    }
+
+    private byte[][] encodeAll(Collection<?> values) {
+        byte[][] encoded = new byte[values.size()][];
+        int i = 0;
+        for (Object value : values) {
+            encoded[i++] = encode(value);
+        }
+        return encoded;
+    }
+
+    /**
+     * 解码（按类型标记交给编解码器，十进制文本解码为整数，其余未经编码写入的文本（如锁持有者）解码为字符串）
+     * @param bytes 字节
+     * @return 值
+     */
+    private Object decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length > 0 && bytes[0] == TYPE_CODEC) {
+            return codec.decode(Arrays.copyOfRange(bytes, 1, bytes.length));
+        }
+        if (isDecimal(bytes)) {
+            long value = Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+        }
+        return SafeEncoder.encode(bytes);
+    }
+
+    private List<Object> decodeAll(Collection<byte[]> values) {
+        List<Object> decoded = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            decoded.add(decode(value));
+        }
+        return decoded;
+    }
+
+    /**
+     * 批量置位的BITFIELD参数（对齐的整字节按u8设置为255，其余逐位按u1设置为1，每个命令不超过BITFIELD_BATCH个子命令）
+     * @param bits 需要设置为1的位
+     * @return 每个命令的参数
+     */
+    private static List<byte[][]> bitfieldSets(BitSet bits) {
+        List<byte[][]> commands = new ArrayList<>();
+        List<byte[]> arguments = new ArrayList<>();
+        int i = bits.nextSetBit(0);
+        while (i >= 0) {
+            boolean wholeByte = (i & 7) == 0 && bits.nextClearBit(i) >= i + 8;
+            arguments.add(BITFIELD_SET);
+            arguments.add(wholeByte ? BITFIELD_U8 : BITFIELD_U1);
+            arguments.add(SafeEncoder.encode(String.valueOf(i)));
+            arguments.add(wholeByte ? BITFIELD_BYTE : BITFIELD_ONE);
+            if (arguments.size() == BITFIELD_BATCH * 4) {
+                commands.add(arguments.toArray(new byte[0][]));
+                arguments.clear();
+            }
+            i = bits.nextSetBit(wholeByte ? i + 8 : i + 1);
+        }
+        if (!arguments.isEmpty()) {
+            commands.add(arguments.toArray(new byte[0][]));
+        }
+        return commands;
+    }
+
+    /**
+     * 是否十进制整数文本
+     * @param bytes 字节
+     * @return true：是
+     */
+    private static boolean isDecimal(byte[] bytes) {
+        if (bytes.length == 0 || bytes.length > 19) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if ((b < '0' || b > '9') && !(i == 0 && b == '-' && bytes.length > 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * lua脚本
+     */
+    private static class Script {
+
+        /**
+         * 脚本内容
+         */
+        private final byte[] body;
+        /**
+         * 脚本SHA1摘要
+         */
+        private final byte[] sha;
+
+        private Script(String body) {
+            this.body = SafeEncoder.encode(body);
+            this.sha = SafeEncoder.encode(sha1Hex(body));
+        }
+
+        private static String sha1Hex(String body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(body.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder();
+                for (byte b : digest) {
+                    hex.append(String.format("%02x", b & 0xFF));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("计算脚本摘要失败", e);
+            }
+        }
+    }
+
+    /**
+     * 一次交互的管道（操作先排队，执行时取一个连接批量发送）
+     */
+    private class RedisCachePipeline implements CachePipeline {
+
+        /**
+         * 排队的操作
+         */
+        private final List<Command> commands = new ArrayList<>();
+
+        @Override
+        public PipelineResponse<Object> get(String key) {
+            PipelineResponse<Object> response = new PipelineResponse<>();
+            commands.add(new Command() {
+                private Response<byte[]> raw;
+
+                @Override
+                public void issue(Pipeline pipeline) {
+                    raw = pipeline.get(key(key));
+                }
+
+                @Override
+                public void complete() {
+                    response.set(decode(raw.get()));
+                }
+            });
+            return response;
+        }
+
+        @Override
+        public PipelineResponse<Void> set(String key, Object value) {
+            byte[] encoded = encode(value);
+            return queue(pipeline -> pipeline.set(key(key), encoded));
+        }
+
+        @Override
+        public PipelineResponse<Void> remove(String key) {
+            return queue(pipeline -> pipeline.del(key(key)));
+        }
+
+        @Override
+        public PipelineResponse<Void> expire(String key, Long expireTime) {
+            return queue(pipeline -> pipeline.pexpire(key(key), expireTime * 1000));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> PipelineResponse<V> getHash(String key, String hashKey, Class<V> vClass) {
+            PipelineResponse<V> response = new PipelineResponse<>();
+            commands.add(new Command() {
+                private Response<byte[]> raw;
+
+                @Override
+                public void issue(Pipeline pipeline) {
+                    raw = pipeline.hget(key(key), key(hashKey));
+                }
+
+                @Override
+                public void complete() {
+                    response.set((V) decode(raw.get()));
+                }
+            });
+            return response;
+        }
+
+        @Override
+        public PipelineResponse<Void> setHash(String key, String hashKey, Object value) {
+            byte[] encoded = encode(value);
+            return queue(pipeline -> pipeline.hset(key(key), key(hashKey), encoded));
+        }
+
+        @Override
+        public PipelineResponse<Long> incrementHash(String key, String hashKey, long delta) {
+            PipelineResponse<Long> response = new PipelineResponse<>();
+            commands.add(new Command() {
+                private Response<Long> raw;
+
+                @Override
+                public void issue(Pipeline pipeline) {
+                    raw = pipeline.hincrBy(key(key), key(hashKey), delta);
+                }
+
+                @Override
+                public void complete() {
+                    response.set(raw.get());
+                }
+            });
+            return response;
+        }
+
+        @Override
+        public PipelineResponse<Void> addAllToSet(String key, Collection<?> values) {
+            if (values.isEmpty()) {
+                return queue(pipeline -> {
+                });
+            }
+            byte[][] encoded = encodeAll(values);
+            return queue(pipeline -> pipeline.sadd(key(key), encoded));
+        }
+
+        @Override
+        public PipelineResponse<Integer> getSetSize(String key) {
+            PipelineResponse<Integer> response = new PipelineResponse<>();
+            commands.add(new Command() {
+                private Response<Long> raw;
+
+                @Override
+                public void issue(Pipeline pipeline) {
+                    raw = pipeline.scard(key(key));
+                }
+
+                @Override
+                public void complete() {
+                    response.set(raw.get().intValue());
+                }
+            });
+            return response;
+        }
+
+        @Override
+        public PipelineResponse<Long> bitCount(String key) {
+            PipelineResponse<Long> response = new PipelineResponse<>();
+            commands.add(new Command() {
+                private Response<Long> raw;
+
+                @Override
+                public void issue(Pipeline pipeline) {
+                    raw = pipeline.bitcount(key(key));
+                }
+
+                @Override
+                public void complete() {
+                    response.set(raw.get());
+                }
+            });
+            return response;
+        }
+
+        @Override
+        public PipelineResponse<Void> setBits(String key, BitSet bits) {
+            List<byte[][]> commands = bitfieldSets(bits);
+            return queue(pipeline -> {
+                for (byte[][] arguments : commands) {
+                    pipeline.bitfield(key(key), arguments);
+                }
+            });
+        }
+
+        @Override
+        public void sync() {
+            if (commands.isEmpty()) {
+                return;
+            }
+            execute(jedis -> {
+                Pipeline pipeline = jedis.pipelined();
+                for (Command command : commands) {
+                    command.issue(pipeline);
+                }
+                pipeline.sync();
+                return null;
+            });
+            for (Command command : commands) {
+                command.complete();
+            }
+            commands.clear();
+        }
+
+        /**
+         * 排队无返回值的操作
+         * @param issue 发送逻辑
+         * @return 操作结果
+         */
+        private PipelineResponse<Void> queue(Consumer<Pipeline> issue) {
+            PipelineResponse<Void> response = new PipelineResponse<>();
+            commands.add(new Command() {
+                @Override
+                public void issue(Pipeline pipeline) {
+                    issue.accept(pipeline);
+                }
+
+                @Override
+                public void complete() {
+                    response.set(null);
+                }
+            });
+            return response;
+        }
+    }
+
+    /**
+     * 管道中的操作
+     */
+    private interface Command {
+
+        /**
+         * 发送至管道
+         * @param pipeline 管道
+         */
+        void issue(Pipeline pipeline);
+
+        /**
+         * 管道执行后设置结果
+         */
+        void complete();
+    }
+}
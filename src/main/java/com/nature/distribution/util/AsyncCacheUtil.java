@@ -0,0 +1,241 @@
+package com.nature.distribution.util;
+
+import com.nature.distribution.definition.AsyncCacheProvider;
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.Executable;
+import com.nature.distribution.definition.Updatable;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步缓存工具类
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 18:20
+ */
+public class AsyncCacheUtil {
+
+    /**
+     * 异步缓存提供者
+     */
+    private static AsyncCacheProvider asyncCacheProvider;
+
+    /**
+     * 设置异步缓存提供者
+     * @param asyncCacheProvider 异步缓存提供者
+     */
+    public static void setAsyncCacheProvider(AsyncCacheProvider asyncCacheProvider) {
+        AsyncCacheUtil.asyncCacheProvider = asyncCacheProvider;
+    }
+
+    /**
+     * 是否已设置异步缓存提供者
+     * @return true：已设置
+     */
+    public static boolean isAvailable() {
+        return asyncCacheProvider != null;
+    }
+
+    /**
+     * 获取异步缓存提供者
+     * @return 异步缓存提供者
+     */
+    private static AsyncCacheProvider getAsyncCacheProvider() {
+        if (AsyncCacheUtil.asyncCacheProvider == null) {
+            throw new NullPointerException("async cache provider is null");
+        }
+        return AsyncCacheUtil.asyncCacheProvider;
+    }
+
+    /**
+     * 设置值
+     * @param key   键
+     * @param value 值
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> set(String key, Object value) {
+        return getAsyncCacheProvider().set(key, value);
+    }
+
+    /**
+     * 设置值并设置过期时间
+     * @param key          键
+     * @param value        值
+     * @param expireMillis 过期时间（毫秒）
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> set(String key, Object value, long expireMillis) {
+        return getAsyncCacheProvider().set(key, value, expireMillis);
+    }
+
+    /**
+     * 获取值
+     * @param key 键
+     * @return 值
+     */
+    public static CompletableFuture<Object> get(String key) {
+        return getAsyncCacheProvider().get(key);
+    }
+
+    /**
+     * 是否有key
+     * @param key key
+     * @return 结果
+     */
+    public static CompletableFuture<Boolean> hasKey(String key) {
+        return getAsyncCacheProvider().hasKey(key);
+    }
+
+    /**
+     * 设置过期时间
+     * @param key        key
+     * @param expireTime 时间（秒）
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> expire(String key, Long expireTime) {
+        return getAsyncCacheProvider().expire(key, expireTime);
+    }
+
+    /**
+     * 增加并获取值
+     * @param key   key
+     * @param value 增加的值
+     * @return 增加后的值
+     */
+    public static CompletableFuture<Integer> incrementAndGet(String key, long value) {
+        return getAsyncCacheProvider().incrementAndGet(key, value);
+    }
+
+    /**
+     * 设置hash值
+     * @param key     key
+     * @param hashKey hash key
+     * @param value   值
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> setHash(String key, String hashKey, Object value) {
+        return getAsyncCacheProvider().setHash(key, hashKey, value);
+    }
+
+    /**
+     * 获取hash值
+     * @param key     key
+     * @param hashKey hash key
+     * @param vClass  值类型
+     * @param <V>     值类型
+     * @return 值
+     */
+    public static <V> CompletableFuture<V> getHash(String key, String hashKey, Class<V> vClass) {
+        return getAsyncCacheProvider().getHash(key, hashKey, vClass);
+    }
+
+    /**
+     * 原子更新hash值
+     * @param key     key
+     * @param hashKey hash key
+     * @param vClass  值类型
+     * @param updater 更新逻辑
+     * @param <V>     值类型
+     * @return 更新后的值，null表示未更新
+     */
+    public static <V> CompletableFuture<V> updateHash(String key, String hashKey, Class<V> vClass,
+                                                      Updatable<V> updater) {
+        return getAsyncCacheProvider().updateHash(key, hashKey, vClass, updater);
+    }
+
+    /**
+     * 增加hash中指定hashKey的计数
+     * @param key     map对应key
+     * @param hashKey hash key
+     * @param delta   增量
+     * @return 增加后的值
+     */
+    public static CompletableFuture<Long> incrementHash(String key, String hashKey, long delta) {
+        return getAsyncCacheProvider().incrementHash(key, hashKey, delta);
+    }
+
+    /**
+     * 添加至set
+     * @param key   key
+     * @param value 值
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> addToSet(String key, Object value) {
+        return getAsyncCacheProvider().addToSet(key, value);
+    }
+
+    /**
+     * 批量添加至set
+     * @param key    key
+     * @param values 值
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> addAllToSet(String key, Collection<?> values) {
+        return getAsyncCacheProvider().addAllToSet(key, values);
+    }
+
+    /**
+     * 是否支持原子递增hash计数
+     * @return true：支持
+     */
+    public static boolean supportsAtomicIncrement() {
+        return getAsyncCacheProvider().supportsAtomicIncrement();
+    }
+
+    /**
+     * 是否支持异步管道
+     * @return true：支持
+     */
+    public static boolean supportsPipeline() {
+        return getAsyncCacheProvider().supportsPipeline();
+    }
+
+    /**
+     * 异步执行一组管道操作
+     * @param operations 在管道中排队操作的逻辑
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> pipelined(Executable<CachePipeline> operations) {
+        return getAsyncCacheProvider().pipelined(operations);
+    }
+
+    /**
+     * 是否支持位图
+     * @return true：支持
+     */
+    public static boolean supportsBitmap() {
+        return getAsyncCacheProvider().supportsBitmap();
+    }
+
+    /**
+     * 设置位
+     * @param key    key
+     * @param offset 位置
+     * @param value  值
+     * @return 原值
+     */
+    public static CompletableFuture<Boolean> setBit(String key, long offset, boolean value) {
+        return getAsyncCacheProvider().setBit(key, offset, value);
+    }
+
+    /**
+     * 批量设置位
+     * @param key  key
+     * @param bits 需要设置为1的位
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> setBits(String key, BitSet bits) {
+        return getAsyncCacheProvider().setBits(key, bits);
+    }
+
+    /**
+     * 删除key
+     * @param key key
+     * @return 完成结果
+     */
+    public static CompletableFuture<Void> remove(String key) {
+        return getAsyncCacheProvider().remove(key);
+    }
+}
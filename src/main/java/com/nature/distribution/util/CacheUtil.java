@@ -1,7 +1,10 @@
 package com.nature.distribution.util;
 
 import com.nature.distribution.definition.CacheProvider;
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.definition.Updatable;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +51,16 @@ public class CacheUtil {
         getCacheProvider().set(key, value);
     }
 
+    /**
+     * 设置值并设置过期时间
+     * @param key          键
+     * @param value        值
+     * @param expireMillis 过期时间（毫秒）
+     */
+    public static void set(String key, Object value, long expireMillis) {
+        getCacheProvider().set(key, value, expireMillis);
+    }
+
     /**
      * 获取值
      * @param key 键
@@ -86,6 +99,16 @@ public class CacheUtil {
         return getCacheProvider().incrementAndGet(key, value);
     }
 
+    /**
+     * 原子领取编号
+     * @param key   key
+     * @param limit 编号上限
+     * @return 领取到的编号，null表示已无可领取的编号
+     */
+    public static Integer claim(String key, int limit) {
+        return getCacheProvider().claim(key, limit);
+    }
+
     /**
      * 批量清除key
      * @param key key集合
@@ -117,7 +140,8 @@ public class CacheUtil {
      * @param lockKey 锁定key
      */
     public static void unlock(String lockKey) {
-        getCacheProvider().remove(lockKey);
+        getCacheProvider().unlock(lockKey);
+        LockWaiter.signal(lockKey);     // 唤醒本应用中等待此锁的线程
     }
 
     /**
@@ -160,6 +184,29 @@ public class CacheUtil {
         return getCacheProvider().getHash(key, hashKey, vClass);
     }
 
+    /**
+     * 增加hash中指定hashKey的计数
+     * @param key     map对应key
+     * @param hashKey map中的哈希key
+     * @param delta   增量
+     * @return 增加后的值
+     */
+    public static long incrementHash(String key, String hashKey, long delta) {
+        return getCacheProvider().incrementHash(key, hashKey, delta);
+    }
+
+    /**
+     * 原子更新哈希值
+     * @param key     map对应key
+     * @param hashKey map中的哈希key
+     * @param vClass  值类型
+     * @param updater 更新逻辑
+     * @return 更新后的值，null表示未更新
+     */
+    public static <V> V updateHash(String key, String hashKey, Class<V> vClass, Updatable<V> updater) {
+        return getCacheProvider().updateHash(key, hashKey, vClass, updater);
+    }
+
     /**
      * 从map中删除
      * @param key     key
@@ -205,6 +252,15 @@ public class CacheUtil {
         getCacheProvider().addToSet(key, value);
     }
 
+    /**
+     * 全部添加到set
+     * @param key    键
+     * @param values 值集合
+     */
+    public static void addAllToSet(String key, Collection<?> values) {
+        getCacheProvider().addAllToSet(key, values);
+    }
+
     /**
      * set中是否存在
      * @param key   键
@@ -224,6 +280,72 @@ public class CacheUtil {
         return getCacheProvider().getSetSize(key);
     }
 
+    /**
+     * 是否支持原子递增hash计数
+     * @return true：支持
+     */
+    public static boolean supportsAtomicIncrement() {
+        return getCacheProvider().supportsAtomicIncrement();
+    }
+
+    /**
+     * 是否支持位图操作
+     * @return true：支持
+     */
+    public static boolean supportsBitmap() {
+        return getCacheProvider().supportsBitmap();
+    }
+
+    /**
+     * 设置位图指定位
+     * @param key    键
+     * @param offset 位置
+     * @param value  值
+     * @return 设置前的值
+     */
+    public static boolean setBit(String key, long offset, boolean value) {
+        return getCacheProvider().setBit(key, offset, value);
+    }
+
+    /**
+     * 批量设置位图中的位为1
+     * @param key  键
+     * @param bits 需要设置的位
+     */
+    public static void setBits(String key, BitSet bits) {
+        getCacheProvider().setBits(key, bits);
+    }
+
+    /**
+     * 获取位图指定位
+     * @param key    键
+     * @param offset 位置
+     * @return 值
+     */
+    public static boolean getBit(String key, long offset) {
+        return getCacheProvider().getBit(key, offset);
+    }
+
+    /**
+     * 获取位图中值为1的位数
+     * @param key 键
+     * @return 位数
+     */
+    public static long bitCount(String key) {
+        return getCacheProvider().bitCount(key);
+    }
+
+    /**
+     * 获取位图指定范围
+     * @param key   键
+     * @param start 开始位置
+     * @param end   结束位置（不包含，小于0表示到位图末尾）
+     * @return 位图（位置与原位图一致）
+     */
+    public static BitSet getBits(String key, long start, long end) {
+        return getCacheProvider().getBits(key, start, end);
+    }
+
     /**
      * 从缓存中取出set
      * @param key    键
@@ -302,4 +424,20 @@ public class CacheUtil {
         return getCacheProvider().sublist(key, start, end);
     }
 
+    /**
+     * 开启管道
+     * @return 管道
+     */
+    public static CachePipeline pipelined() {
+        return getCacheProvider().pipelined();
+    }
+
+    /**
+     * 清除本地缓存的值
+     * @param key 键
+     */
+    public static void invalidateLocal(String key) {
+        getCacheProvider().invalidateLocal(key);
+    }
+
 }
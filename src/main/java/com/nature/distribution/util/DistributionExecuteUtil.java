@@ -6,9 +6,6 @@ import com.nature.distribution.definition.Invokable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 /**
  * 分布式执行器
  * @author nature
@@ -19,6 +16,22 @@ public class DistributionExecuteUtil {
 
     private static final Logger LOG = LoggerFactory.getLogger(DistributionExecuteUtil.class);
 
+    /**
+     * 竞争锁失败后的退避策略
+     */
+    private static volatile LockBackoff lockBackoff = new LockBackoff();
+
+    /**
+     * 设置竞争锁失败后的退避策略
+     * @param lockBackoff 退避策略
+     */
+    public static void setLockBackoff(LockBackoff lockBackoff) {
+        if (lockBackoff == null) {
+            throw new NullPointerException("lock backoff is null");
+        }
+        DistributionExecuteUtil.lockBackoff = lockBackoff;
+    }
+
     /**
      * 分布式同步执行
      * @param lockKey 锁定key
@@ -52,33 +65,19 @@ public class DistributionExecuteUtil {
                 (lockTime != null && lockTime <= 0) || (retry != null && retry < 0)) {
             throw new RuntimeException(String.format("synchronously execute param illegal lock key %s time %s", lockKey, lockTime));
         }
-        boolean lock;
-        int tryCount = 0;
         if (lockTime == null) {
             lockTime = 60L;
         }
-        do {
-            lock = CacheUtil.lock(lockKey, lockTime);
-            tryCount++;
-            SleepUtil.sleepMillis(300L);
-        } while (!lock && (retry == null || tryCount <= retry));
-
-        if (!lock) {
+        if (!acquire(lockKey, lockTime, retry)) {
             return;
         }
-        long period = lockTime / 2;
-        Timer timer = null;
-        if (period > 0) {
-            timer = refreshLockTime(lockKey, lockTime, period);
-        }
+        LeaseManager.Lease lease = LeaseManager.hold(lockKey, lockTime);   // 持有期间自动续期
         try {
             task.invoke();
             LOG.debug(String.format("synchronously execute end lock key %s time %s retry %s", lockKey, lockTime, retry));
 
         } finally {
-            if (timer != null) {
-                timer.cancel();
-            }
+            LeaseManager.release(lease);
             CacheUtil.unlock(lockKey);
         }
     }
@@ -98,33 +97,19 @@ public class DistributionExecuteUtil {
                 (lockTime != null && lockTime <= 0) || (retry != null && retry < 0)) {
             throw new RuntimeException(String.format("synchronously execute param illegal lock key %s time %s", lockKey, lockTime));
         }
-        boolean lock;
-        int tryCount = 0;
         if (lockTime == null) {
             lockTime = 60L;
         }
-        do {
-            lock = CacheUtil.lock(lockKey, lockTime);
-            tryCount++;
-            SleepUtil.sleepMillis(300L);
-        } while (!lock && (retry == null || tryCount <= retry));
-
-        if (!lock) {
+        if (!acquire(lockKey, lockTime, retry)) {
             return null;
         }
-        long period = lockTime / 2;
-        Timer timer = null;
-        if (period > 0) {
-            timer = refreshLockTime(lockKey, lockTime, period);
-        }
+        LeaseManager.Lease lease = LeaseManager.hold(lockKey, lockTime);   // 持有期间自动续期
         try {
             R r = task.call();
             LOG.debug(String.format("synchronously execute end lock key %s time %s retry %s result %s", lockKey, lockTime, retry, r));
             return r;
         } finally {
-            if (timer != null) {
-                timer.cancel();
-            }
+            LeaseManager.release(lease);
             CacheUtil.unlock(lockKey);
         }
     }
@@ -142,12 +127,14 @@ public class DistributionExecuteUtil {
     public static <R> R synchronouslyExecute(String lockKey, int periodSeconds, Callable<R> query, Invokable execute) {
         LOG.debug(String.format("synchronously execute start lock key %s period %s seconds", lockKey, periodSeconds));
         R result;
+        int attempt = 0;    // 连续竞争锁失败次数
         do {
             result = query.call(); // 执行查询结果查到结果则返回
             if (result == null) {
+                long generation = LockWaiter.generation(lockKey);
                 boolean lock = CacheUtil.lock(lockKey, null);
                 if (lock) {
-                    Timer timer = refreshLockTime(lockKey, 60L, 50L);
+                    LeaseManager.Lease lease = LeaseManager.hold(lockKey, 60L);
                     try {
                         result = query.call();  // 执行查询结果查到结果则返回
                         if (result != null) {
@@ -156,11 +143,12 @@ public class DistributionExecuteUtil {
                             execute.invoke();  // 查询无结果执行处理逻辑以设置结果
                         }
                     } finally {
-                        timer.cancel();
+                        LeaseManager.release(lease);
                         CacheUtil.unlock(lockKey);
                     }
-                } else {    // 竞争锁失败则休眠指定时间后再行获取
-                    SleepUtil.sleepSeconds(periodSeconds);
+                } else {    // 竞争锁失败则退避后再行获取（不超过间隔秒数，锁释放时提前唤醒）
+                    long delay = Math.min(lockBackoff.delayMillis(++attempt), periodSeconds * 1000L);
+                    LockWaiter.await(lockKey, generation, delay);
                 }
             }
         } while (result == null);
@@ -183,21 +171,26 @@ public class DistributionExecuteUtil {
                                              Callable<Integer> calculate, Executable<Integer> execute) {
         LOG.debug(String.format("asynchronously execute start lock key %s sleep seconds %s", lockKey, sleepSeconds));
         Boolean result;
+        int attempt = 0;    // 连续竞争锁失败次数
         do {
             result = query.call(); // 执行查询结果查到结果则返回
             if (result == null || !result) {
                 Integer taskNo = null;
+                long generation = LockWaiter.generation(lockKey);
                 boolean lock = CacheUtil.lock(lockKey, 60L);
                 if (lock) {
-                    Timer timer = refreshLockTime(lockKey, 60L, 50L);
+                    attempt = 0;
+                    LeaseManager.Lease lease = LeaseManager.hold(lockKey, 60L);
                     try {
                         taskNo = calculate.call();
                     } finally {
-                        timer.cancel();
+                        LeaseManager.release(lease);
                         CacheUtil.unlock(lockKey);
                     }
-                } else {    // 竞争锁失败则休眠指定时间后再行获取
-                    SleepUtil.sleepSeconds(sleepSeconds);
+                } else {    // 竞争锁失败则退避后再行获取（不超过间隔秒数，锁释放时提前唤醒）
+                    long delay = Math.min(lockBackoff.delayMillis(++attempt), sleepSeconds * 1000L);
+                    LockWaiter.await(lockKey, generation, delay);
+                    continue;
                 }
                 if (taskNo != null) {
                     execute.execute(taskNo);
@@ -209,23 +202,77 @@ public class DistributionExecuteUtil {
         LOG.debug(String.format("asynchronously execute end lock key %s sleep seconds %s", lockKey, sleepSeconds));
     }
 
+    /**
+     * 分布异步执行（无锁领取，包括四个部分逻辑）
+     * 1.查询处理结果（true表示已经处理完成）
+     * 2.无锁领取任务编号（任务编号不为null表示有需要执行的编号）
+     * 3.无编号可领取时加锁回收任务编号（如宕机机器未完成的任务）
+     * 4.执行任务（按任务编号执行处理任务）
+     * @param lockKey      锁定key（仅回收任务编号时使用）
+     * @param sleepSeconds 间隔秒数
+     * @param query        查询逻辑
+     * @param claim        领取任务编号
+     * @param recover      回收任务编号
+     * @param execute      执行修改的逻辑
+     */
+    public static void asynchronouslyExecute(String lockKey, int sleepSeconds, Callable<Boolean> query,
+                                             Callable<Integer> claim, Callable<Integer> recover,
+                                             Executable<Integer> execute) {
+        LOG.debug(String.format("asynchronously execute start lock key %s sleep seconds %s", lockKey, sleepSeconds));
+        Boolean result;
+        int attempt = 0;    // 连续竞争锁失败次数
+        do {
+            result = query.call(); // 执行查询结果查到结果则返回
+            if (result == null || !result) {
+                Integer taskNo = claim.call();  // 无锁领取，一次往返
+                if (taskNo == null) {   // 编号已领完则竞争锁回收遗留的任务编号
+                    long generation = LockWaiter.generation(lockKey);
+                    boolean lock = CacheUtil.lock(lockKey, 60L);
+                    if (lock) {
+                        attempt = 0;
+                        LeaseManager.Lease lease = LeaseManager.hold(lockKey, 60L);
+                        try {
+                            taskNo = recover.call();
+                        } finally {
+                            LeaseManager.release(lease);
+                            CacheUtil.unlock(lockKey);
+                        }
+                    } else {    // 竞争锁失败则退避后再行获取（不超过间隔秒数，锁释放时提前唤醒）
+                        long delay = Math.min(lockBackoff.delayMillis(++attempt), sleepSeconds * 1000L);
+                        LockWaiter.await(lockKey, generation, delay);
+                        continue;
+                    }
+                }
+                if (taskNo != null) {
+                    execute.execute(taskNo);
+                } else {
+                    break;
+                }
+            }
+        } while (result != null && !result);
+        LOG.debug(String.format("asynchronously execute end lock key %s sleep seconds %s", lockKey, sleepSeconds));
+    }
 
     /**
-     * 刷新锁的过期时间
+     * 竞争锁，成功立即返回，失败则退避后重试（锁释放时提前唤醒）
      * @param lockKey  锁定key
-     * @param lockTime 锁定时间
-     * @param period   刷新周期
-     * @return 定时器
+     * @param lockTime 锁定时间（秒）
+     * @param retry    重试次数（null表示一直重试）
+     * @return 是否获取到锁
      */
-    private static Timer refreshLockTime(String lockKey, long lockTime, long period) {
-        Timer timer = new Timer();
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                CacheUtil.expire(lockKey, lockTime);
+    private static boolean acquire(String lockKey, Long lockTime, Integer retry) {
+        int attempt = 0;
+        while (true) {
+            long generation = LockWaiter.generation(lockKey);
+            if (CacheUtil.lock(lockKey, lockTime)) {
+                return true;
             }
-        }, period, period);
-        return timer;
+            attempt++;
+            if (retry != null && attempt > retry) {
+                return false;
+            }
+            LockWaiter.await(lockKey, generation, lockBackoff.delayMillis(attempt));
+        }
     }
 
 }
@@ -0,0 +1,155 @@
+package com.nature.distribution.util;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.model.PipelineResponse;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 数据下标集合工具类
+ * 缓存提供者支持位图时使用位图存储（每条数据一位），否则使用set存储
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 13:05
+ */
+public class IndexSetUtil {
+
+    /**
+     * 添加下标
+     * @param key   数据下标集合key
+     * @param index 下标
+     */
+    public static void add(String key, int index) {
+        if (CacheUtil.supportsBitmap()) {
+            CacheUtil.setBit(key, index, true);
+        } else {
+            CacheUtil.addToSet(key, index);
+        }
+    }
+
+    /**
+     * 添加下标（管道中排队，管道执行时写入）
+     * @param pipeline 管道
+     * @param key      数据下标集合key
+     * @param index    下标
+     */
+    public static void add(CachePipeline pipeline, String key, int index) {
+        if (CacheUtil.supportsBitmap()) {
+            BitSet bits = new BitSet();
+            bits.set(index);
+            pipeline.setBits(key, bits);
+        } else {
+            pipeline.addAllToSet(key, Collections.singletonList(index));
+        }
+    }
+
+    /**
+     * 异步批量添加下标（使用异步缓存提供者，不等待写入完成）
+     * @param key     数据下标集合key
+     * @param indexes 下标
+     * @return 完成结果
+     */
+    public static CompletableFuture<?> addAllAsync(String key, BitSet indexes) {
+        if (indexes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (AsyncCacheUtil.supportsBitmap()) {
+            return AsyncCacheUtil.setBits(key, indexes);
+        }
+        return AsyncCacheUtil.addAllToSet(key, toList(indexes));
+    }
+
+    /**
+     * 批量添加下标
+     * @param key     数据下标集合key
+     * @param indexes 下标
+     */
+    public static void addAll(String key, BitSet indexes) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (CacheUtil.supportsBitmap()) {
+            CacheUtil.setBits(key, indexes);
+        } else {
+            CacheUtil.addAllToSet(key, toList(indexes));
+        }
+    }
+
+    /**
+     * 批量添加下标（管道中排队，管道执行时写入）
+     * @param pipeline 管道
+     * @param key      数据下标集合key
+     * @param indexes  下标
+     */
+    public static void addAll(CachePipeline pipeline, String key, BitSet indexes) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (CacheUtil.supportsBitmap()) {
+            pipeline.setBits(key, indexes);
+        } else {
+            pipeline.addAllToSet(key, toList(indexes));
+        }
+    }
+
+    /**
+     * 获取下标数量
+     * @param key 数据下标集合key
+     * @return 下标数量
+     */
+    public static int size(String key) {
+        if (CacheUtil.supportsBitmap()) {
+            return (int) CacheUtil.bitCount(key);
+        }
+        return CacheUtil.getSetSize(key);
+    }
+
+    /**
+     * 获取下标数量（管道中排队，管道执行后获取）
+     * @param pipeline 管道
+     * @param key      数据下标集合key
+     * @return 下标数量
+     */
+    public static PipelineResponse<? extends Number> size(CachePipeline pipeline, String key) {
+        if (CacheUtil.supportsBitmap()) {
+            return pipeline.bitCount(key);
+        }
+        return pipeline.getSetSize(key);
+    }
+
+    /**
+     * 一次性加载全部下标
+     * @param key 数据下标集合key
+     * @return 下标
+     */
+    public static BitSet load(String key) {
+        if (CacheUtil.supportsBitmap()) {
+            BitSet bits = CacheUtil.getBits(key, 0, -1);
+            return bits == null ? new BitSet() : bits;
+        }
+        BitSet bits = new BitSet();
+        Set<Integer> indexes = CacheUtil.getSet(key, Integer.class);
+        if (indexes != null) {
+            for (Integer index : indexes) {
+                bits.set(index);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 位图转换为下标集合
+     * @param bits 位图
+     * @return 下标集合
+     */
+    private static List<Integer> toList(BitSet bits) {
+        List<Integer> values = new ArrayList<>(bits.cardinality());
+        bits.stream().forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,139 @@
+package com.nature.distribution.util;
+
+import com.nature.distribution.definition.CachePipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 锁租约管理（整个应用共用一个定时线程，每个周期集中续期全部到期的锁）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 13:40
+ */
+public class LeaseManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaseManager.class);
+
+    /**
+     * 检查周期（毫秒）
+     */
+    private static final long TICK_MILLIS = 500L;
+
+    /**
+     * 持有中的租约（锁定key -> 租约）
+     */
+    private static final ConcurrentMap<String, Lease> LEASES = new ConcurrentHashMap<>();
+
+    /**
+     * 续期定时线程
+     */
+    private static final ScheduledExecutorService SCHEDULER = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        SCHEDULER.scheduleWithFixedDelay(LeaseManager::renewDue, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 持有租约，持有期间每隔锁定时间的一半续期一次
+     * @param lockKey     锁定key
+     * @param lockSeconds 锁定时间（秒）
+     * @return 租约
+     */
+    public static Lease hold(String lockKey, long lockSeconds) {
+        Lease lease = new Lease(lockKey, lockSeconds);
+        LEASES.put(lockKey, lease);
+        return lease;
+    }
+
+    /**
+     * 释放租约（不再续期，不会解锁）
+     * @param lease 租约
+     */
+    public static void release(Lease lease) {
+        if (lease != null) {
+            LEASES.remove(lease.lockKey, lease);
+        }
+    }
+
+    /**
+     * 获取持有中的租约数量
+     * @return 租约数量
+     */
+    public static int activeLeaseCount() {
+        return LEASES.size();
+    }
+
+    /**
+     * 续期全部到期的租约
+     */
+    private static void renewDue() {
+        long now = System.currentTimeMillis();
+        List<Lease> due = new ArrayList<>();
+        for (Lease lease : LEASES.values()) {
+            if (lease.nextRenewTime <= now) {
+                due.add(lease);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            CachePipeline pipeline = CacheUtil.pipelined();     // 到期的租约一次交互续期
+            for (Lease lease : due) {
+                pipeline.expire(lease.lockKey, lease.lockSeconds);
+            }
+            pipeline.sync();
+            for (Lease lease : due) {
+                lease.nextRenewTime = now + lease.periodMillis;
+            }
+        } catch (Throwable t) {
+            LOG.error(String.format("lease renew error %s leases", due.size()), t);
+        }
+    }
+
+    /**
+     * 租约
+     */
+    public static class Lease {
+
+        /**
+         * 锁定key
+         */
+        private final String lockKey;
+        /**
+         * 锁定时间（秒）
+         */
+        private final long lockSeconds;
+        /**
+         * 续期周期（毫秒）
+         */
+        private final long periodMillis;
+        /**
+         * 下次续期时间
+         */
+        private volatile long nextRenewTime;
+
+        private Lease(String lockKey, long lockSeconds) {
+            this.lockKey = lockKey;
+            this.lockSeconds = lockSeconds;
+            this.periodMillis = Math.max(lockSeconds * 1000 / 2, TICK_MILLIS);
+            this.nextRenewTime = System.currentTimeMillis() + periodMillis;
+        }
+
+        public String getLockKey() {
+            return lockKey;
+        }
+    }
+}
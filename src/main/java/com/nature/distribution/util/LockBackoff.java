@@ -0,0 +1,85 @@
+package com.nature.distribution.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 竞争锁失败后的退避策略（指数退避+随机抖动）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 14:10
+ */
+public class LockBackoff {
+
+    /**
+     * 首次退避时间（毫秒）
+     */
+    private long initialMillis = 20L;
+    /**
+     * 最大退避时间（毫秒）
+     */
+    private long maxMillis = 1000L;
+    /**
+     * 退避倍数
+     */
+    private double multiplier = 2.0;
+    /**
+     * 抖动比例（0~1，退避时间在[1-jitter, 1]倍之间随机，避免多台机器同时重试）
+     */
+    private double jitter = 0.5;
+
+    /**
+     * 计算第几次失败后的退避时间
+     * @param attempt 失败次数（从1开始）
+     * @return 退避时间（毫秒）
+     */
+    public long delayMillis(int attempt) {
+        double delay = initialMillis * Math.pow(multiplier, Math.max(attempt - 1, 0));
+        delay = Math.min(delay, maxMillis);
+        delay = delay * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Math.max((long) delay, 1L);
+    }
+
+    public long getInitialMillis() {
+        return initialMillis;
+    }
+
+    public void setInitialMillis(long initialMillis) {
+        if (initialMillis <= 0) {
+            throw new RuntimeException("首次退避时间必须大于0");
+        }
+        this.initialMillis = initialMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(long maxMillis) {
+        if (maxMillis <= 0) {
+            throw new RuntimeException("最大退避时间必须大于0");
+        }
+        this.maxMillis = maxMillis;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        if (multiplier < 1) {
+            throw new RuntimeException("退避倍数不能小于1");
+        }
+        this.multiplier = multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        if (jitter < 0 || jitter > 1) {
+            throw new RuntimeException("抖动比例必须在0~1之间");
+        }
+        this.jitter = jitter;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nature.distribution.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 锁等待（竞争锁失败的线程在退避期间等待，锁释放时提前唤醒）
+ * 本应用解锁时自动唤醒；缓存提供者如果能收到锁释放通知（如订阅通知通道），可调用signal唤醒本应用中的等待线程
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/17 14:15
+ */
+public class LockWaiter {
+
+    /**
+     * 全部锁的释放次数，用于避免等待前已释放而错过通知（不区分锁定key，不需要按key保存）
+     */
+    private static final AtomicLong RELEASES = new AtomicLong();
+    /**
+     * 等待中的线程（锁定key -> 等待者），没有线程等待时移除
+     */
+    private static final ConcurrentMap<String, Waiters> WAITERS = new ConcurrentHashMap<>();
+
+    /**
+     * 获取锁释放计数（竞争锁前获取，等待时传入）
+     * @param lockKey 锁定key
+     * @return 锁释放计数
+     */
+    public static long generation(String lockKey) {
+        return RELEASES.get();
+    }
+
+    /**
+     * 等待锁释放或超时（竞争锁后已有锁释放时直接返回）
+     * @param lockKey    锁定key
+     * @param generation 竞争锁前获取的锁释放计数
+     * @param millis     最长等待时间（毫秒）
+     */
+    public static void await(String lockKey, long generation, long millis) {
+        Waiters waiters = WAITERS.compute(lockKey, (k, w) -> {   // 先登记再检查释放计数，之后的释放一定能通知到
+            if (w == null) {
+                w = new Waiters();
+            }
+            w.count++;
+            return w;
+        });
+        long deadline = System.currentTimeMillis() + millis;
+        try {
+            synchronized (waiters) {
+                long signals = waiters.signals;
+                if (RELEASES.get() != generation) {   // 竞争锁后有锁释放（可能是此锁），直接重试
+                    return;
+                }
+                long remain = millis;
+                while (waiters.signals == signals && remain > 0) {  // 通知次数变化说明锁已释放
+                    try {
+                        waiters.wait(remain);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    remain = deadline - System.currentTimeMillis();
+                }
+            }
+        } finally {
+            WAITERS.computeIfPresent(lockKey, (k, w) -> --w.count == 0 ? null : w);
+        }
+    }
+
+    /**
+     * 通知锁已释放，唤醒等待线程
+     * @param lockKey 锁定key
+     */
+    public static void signal(String lockKey) {
+        RELEASES.incrementAndGet();
+        Waiters waiters = WAITERS.get(lockKey);
+        if (waiters == null) {   // 没有线程等待此锁
+            return;
+        }
+        synchronized (waiters) {
+            waiters.signals++;
+            waiters.notifyAll();
+        }
+    }
+
+    /**
+     * 单个锁定key的等待者
+     */
+    private static class Waiters {
+
+        /**
+         * 等待中的线程数（登记与移除在map的compute中完成）
+         */
+        private int count;
+        /**
+         * 通知次数
+         */
+        private long signals;
+    }
+}
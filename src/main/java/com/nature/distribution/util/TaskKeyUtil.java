@@ -2,6 +2,10 @@ package com.nature.distribution.util;
 
 import com.nature.distribution.model.Keyable;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.IntStream;
 
 /**
@@ -56,23 +60,94 @@ public class TaskKeyUtil {
      */
     private static final String ERROR_INDEX_SET = "set:error:index:";
 
+    /**
+     * 已完成的任务编号集合
+     */
+    private static final String DONE_TASK_SET = "set:done:task:";
+
     /**
      * 任务信息map
      */
     private static final String TASK_INFO_MAP = "map:task:info:";
 
+    /**
+     * 任务进度map（任务级及批次级的处理计数）
+     */
+    private static final String PROGRESS_MAP = "map:task:progress:";
+
+    /**
+     * 任务进度map中任务级正常处理数
+     */
+    public static final String PROGRESS_FINISH = "finish";
+
+    /**
+     * 任务进度map中任务级异常处理数
+     */
+    public static final String PROGRESS_ERROR = "error";
+
     /**
      * 机器信息map
      */
     private static final String MACHINE_INFO_MAP = "map:machine:info:";
 
+    /**
+     * 机器存活key
+     */
+    private static final String MACHINE_ALIVE = "machine:alive:";
+
+    /**
+     * 机器成员map（存活key模式下登记的机器编号）
+     */
+    private static final String MACHINE_MEMBER_MAP = "map:machine:member:";
+
+    /**
+     * 是否使用hash tag包裹任务key（redis集群下同一任务的key落在同一slot，支持多key脚本及管道）
+     */
+    private static volatile boolean hashTag;
+
+    /**
+     * 任务key空间缓存的最大数量（key空间可以随时重新生成，超过时整体清空）
+     */
+    private static final int MAX_KEYSPACES = 256;
+
+    /**
+     * 任务key空间缓存（任务key -> key空间，读取不加锁也不改变顺序）
+     */
+    private static final ConcurrentMap<String, JobKeyspace> KEYSPACES = new ConcurrentHashMap<>();
+
+    /**
+     * 设置是否使用hash tag包裹任务key（需要在任务开始前设置，全部机器一致）
+     * @param hashTag 是否使用hash tag
+     */
+    public static void setHashTag(boolean hashTag) {
+        TaskKeyUtil.hashTag = hashTag;
+        KEYSPACES.clear();
+    }
+
+    /**
+     * 获取任务的key空间（同一任务的全部key只生成一次）
+     * @param keyable 可转换为key的参数
+     * @return key空间
+     */
+    public static JobKeyspace keyspace(Keyable keyable) {
+        String key = keyable.genKey();
+        JobKeyspace keys = KEYSPACES.get(key);
+        if (keys == null) {
+            if (KEYSPACES.size() >= MAX_KEYSPACES) {    // 超过上限时整体清空，正在执行的任务下次使用时重新生成
+                KEYSPACES.clear();
+            }
+            keys = KEYSPACES.computeIfAbsent(key, k -> new JobKeyspace(hashTag ? "{" + k + "}" : k));
+        }
+        return keys;
+    }
+
     /**
      * 数据总数key
      * @param keyable 可转换为key的参数
      * @return 数据总数key
      */
     public static String dataTotal(Keyable keyable) {
-        return BASE_PREFIX + DATA_TOTAL + keyable.genKey();
+        return keyspace(keyable).getDataTotal();
     }
 
     /**
@@ -81,7 +156,7 @@ public class TaskKeyUtil {
      * @return 任务总数key
      */
     public static String taskTotal(Keyable keyable) {
-        return BASE_PREFIX + TASK_TOTAL + keyable.genKey();
+        return keyspace(keyable).getTaskTotal();
     }
 
     /**
@@ -90,7 +165,7 @@ public class TaskKeyUtil {
      * @return 任务编号key
      */
     public static String taskNo(Keyable keyable) {
-        return BASE_PREFIX + TASK_NO + keyable.genKey();
+        return keyspace(keyable).getTaskNo();
     }
 
     /**
@@ -99,7 +174,7 @@ public class TaskKeyUtil {
      * @return 停止标记key
      */
     public static String stopFlag(Keyable keyable) {
-        return BASE_PREFIX + STOP_FLAG + keyable.genKey();
+        return keyspace(keyable).getStopFlag();
     }
 
     /**
@@ -109,7 +184,7 @@ public class TaskKeyUtil {
      * @return 正常处理的数据下标集合
      */
     public static String normalIndexSet(Keyable keyable, int taskNo) {
-        return BASE_PREFIX + NORMAL_INDEX_SET + keyable.genKey() + SEPARATOR + taskNo;
+        return keyspace(keyable).normalIndexSet(taskNo);
     }
 
     /**
@@ -119,7 +194,7 @@ public class TaskKeyUtil {
      * @return 异常处理的数据下标集合
      */
     public static String errorIndexSet(Keyable keyable, int taskNo) {
-        return BASE_PREFIX + ERROR_INDEX_SET + keyable.genKey() + SEPARATOR + taskNo;
+        return keyspace(keyable).errorIndexSet(taskNo);
     }
 
     /**
@@ -128,7 +203,7 @@ public class TaskKeyUtil {
      * @return 任务信息map
      */
     public static String taskInfoMap(Keyable keyable) {
-        return BASE_PREFIX + TASK_INFO_MAP + keyable.genKey();
+        return keyspace(keyable).getTaskInfoMap();
     }
 
     /**
@@ -139,6 +214,83 @@ public class TaskKeyUtil {
         return BASE_PREFIX + MACHINE_INFO_MAP;
     }
 
+    /**
+     * 机器存活key（机器自行续期，过期即视为宕机）
+     * @param machineNo 机器编号
+     * @return 机器存活key
+     */
+    public static String machineAlive(String machineNo) {
+        return BASE_PREFIX + MACHINE_ALIVE + machineNo;
+    }
+
+    /**
+     * 机器成员map（存活key模式下机器登记自己的编号，按成员读取存活key，不需要遍历全部key）
+     * @return 机器成员map
+     */
+    public static String machineMemberMap() {
+        return BASE_PREFIX + MACHINE_MEMBER_MAP;
+    }
+
+    /**
+     * 任务进度map中批次正常处理数的hashKey
+     * @param taskNo 任务编号
+     * @return hashKey
+     */
+    public static String batchFinishField(int taskNo) {
+        return taskNo + SEPARATOR + PROGRESS_FINISH;
+    }
+
+    /**
+     * 任务进度map中批次异常处理数的hashKey
+     * @param taskNo 任务编号
+     * @return hashKey
+     */
+    public static String batchErrorField(int taskNo) {
+        return taskNo + SEPARATOR + PROGRESS_ERROR;
+    }
+
+    /**
+     * 一次计算后不再变化的key的前缀（数据总数、任务总数），可以缓存在本地
+     * @return key前缀
+     */
+    public static List<String> immutableKeyPrefixes() {
+        return Arrays.asList(BASE_PREFIX + DATA_TOTAL, BASE_PREFIX + TASK_TOTAL);
+    }
+
+    /**
+     * key分类前缀（按分类统计缓存操作时使用）
+     */
+    private static final String[] FAMILY_PREFIXES = {LOCK_PREFIX, DATA_TOTAL, TASK_TOTAL, TASK_NO, STOP_FLAG,
+            NORMAL_INDEX_SET, ERROR_INDEX_SET, DONE_TASK_SET, TASK_INFO_MAP, PROGRESS_MAP, MACHINE_INFO_MAP, MACHINE_ALIVE,
+            MACHINE_MEMBER_MAP};
+    /**
+     * key分类名称（与FAMILY_PREFIXES一一对应，去掉末尾分隔符，预先生成避免每次截取）
+     */
+    private static final String[] FAMILY_NAMES = Arrays.stream(FAMILY_PREFIXES)
+            .map(prefix -> prefix.substring(0, prefix.length() - SEPARATOR.length())).toArray(String[]::new);
+
+    /**
+     * 其他key分类
+     */
+    public static final String OTHER_FAMILY = "other";
+
+    /**
+     * 获取key所属分类（如lock、task:no、set:normal:index），非本工具生成的key归为other
+     * @param key key
+     * @return key分类
+     */
+    public static String keyFamily(String key) {
+        if (key == null || !key.startsWith(BASE_PREFIX)) {
+            return OTHER_FAMILY;
+        }
+        for (int i = 0; i < FAMILY_PREFIXES.length; i++) {
+            if (key.startsWith(FAMILY_PREFIXES[i], BASE_PREFIX.length())) {
+                return FAMILY_NAMES[i];
+            }
+        }
+        return OTHER_FAMILY;
+    }
+
     /**
      * 根据传入的参数生成锁定key
      * @param objects 传入的参数
@@ -159,4 +311,123 @@ public class TaskKeyUtil {
         return lockKey.toString();
     }
 
+    /**
+     * 任务key空间（一个任务的全部key，创建时一次生成）
+     */
+    public static class JobKeyspace {
+
+        /**
+         * 数据总数key
+         */
+        private final String dataTotal;
+        /**
+         * 任务总数key
+         */
+        private final String taskTotal;
+        /**
+         * 任务编号key
+         */
+        private final String taskNo;
+        /**
+         * 停止标记key
+         */
+        private final String stopFlag;
+        /**
+         * 任务信息map
+         */
+        private final String taskInfoMap;
+        /**
+         * 任务进度map
+         */
+        private final String progressMap;
+        /**
+         * 已完成的任务编号集合
+         */
+        private final String doneTaskSet;
+        /**
+         * 操作锁key
+         */
+        private final String lockKey;
+        /**
+         * 正常处理的数据下标集合前缀
+         */
+        private final String normalIndexPrefix;
+        /**
+         * 异常处理的数据下标集合前缀
+         */
+        private final String errorIndexPrefix;
+        /**
+         * 正常处理的数据下标集合（任务编号 -> key）
+         */
+        private final ConcurrentMap<Integer, String> normalIndexSets = new ConcurrentHashMap<>();
+        /**
+         * 异常处理的数据下标集合（任务编号 -> key）
+         */
+        private final ConcurrentMap<Integer, String> errorIndexSets = new ConcurrentHashMap<>();
+
+        private JobKeyspace(String jobKey) {
+            this.dataTotal = BASE_PREFIX + DATA_TOTAL + jobKey;
+            this.taskTotal = BASE_PREFIX + TASK_TOTAL + jobKey;
+            this.taskNo = BASE_PREFIX + TASK_NO + jobKey;
+            this.stopFlag = BASE_PREFIX + STOP_FLAG + jobKey;
+            this.taskInfoMap = BASE_PREFIX + TASK_INFO_MAP + jobKey;
+            this.progressMap = BASE_PREFIX + PROGRESS_MAP + jobKey;
+            this.doneTaskSet = BASE_PREFIX + DONE_TASK_SET + jobKey;
+            this.lockKey = BASE_PREFIX + LOCK_PREFIX + jobKey;
+            this.normalIndexPrefix = BASE_PREFIX + NORMAL_INDEX_SET + jobKey + SEPARATOR;
+            this.errorIndexPrefix = BASE_PREFIX + ERROR_INDEX_SET + jobKey + SEPARATOR;
+        }
+
+        public String getDataTotal() {
+            return dataTotal;
+        }
+
+        public String getTaskTotal() {
+            return taskTotal;
+        }
+
+        public String getTaskNo() {
+            return taskNo;
+        }
+
+        public String getStopFlag() {
+            return stopFlag;
+        }
+
+        public String getTaskInfoMap() {
+            return taskInfoMap;
+        }
+
+        public String getProgressMap() {
+            return progressMap;
+        }
+
+        public String getDoneTaskSet() {
+            return doneTaskSet;
+        }
+
+        public String getLockKey() {
+            return lockKey;
+        }
+
+        /**
+         * 正常处理的数据下标集合
+         * @param taskNo 任务编号
+         * @return 正常处理的数据下标集合
+         */
+        public String normalIndexSet(int taskNo) {
+            String key = normalIndexSets.get(taskNo);
+            return key != null ? key : normalIndexSets.computeIfAbsent(taskNo, no -> normalIndexPrefix + no);
+        }
+
+        /**
+         * 异常处理的数据下标集合
+         * @param taskNo 任务编号
+         * @return 异常处理的数据下标集合
+         */
+        public String errorIndexSet(int taskNo) {
+            String key = errorIndexSets.get(taskNo);
+            return key != null ? key : errorIndexSets.computeIfAbsent(taskNo, no -> errorIndexPrefix + no);
+        }
+    }
 }
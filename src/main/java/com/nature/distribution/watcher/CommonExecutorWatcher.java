@@ -1,17 +1,31 @@
 package com.nature.distribution.watcher;
 
+import com.nature.distribution.definition.CachePipeline;
 import com.nature.distribution.definition.ExecutorWatcher;
+import com.nature.distribution.definition.FailureDetector;
+import com.nature.distribution.detector.FixedWindowFailureDetector;
+import com.nature.distribution.model.JobProgress;
 import com.nature.distribution.model.Keyable;
 import com.nature.distribution.model.MachineInfo;
+import com.nature.distribution.model.PipelineResponse;
 import com.nature.distribution.model.TaskInfo;
 import com.nature.distribution.util.ApplicationUtil;
+import com.nature.distribution.util.AsyncCacheUtil;
 import com.nature.distribution.util.CacheUtil;
+import com.nature.distribution.util.IndexSetUtil;
 import com.nature.distribution.util.TaskKeyUtil;
+import com.nature.distribution.util.TaskKeyUtil.JobKeyspace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -25,6 +39,8 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class CommonExecutorWatcher implements ExecutorWatcher {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CommonExecutorWatcher.class);
+
     /**
      * 实例
      */
@@ -46,6 +62,26 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
      * 心跳状态标记
      */
     private boolean heartBeating;
+    /**
+     * 存活key过期时间（毫秒，大于0时使用存活key判断机器存活，否则使用共享map中的心跳时间）
+     */
+    private volatile long livenessTtlMillis;
+    /**
+     * 故障检测器（默认上次心跳超过心跳间隔两倍判定宕机）
+     */
+    private volatile FailureDetector failureDetector = new FixedWindowFailureDetector();
+    /**
+     * 本地机器成员快照（机器编号 -> 机器信息，只包含活跃机器）
+     */
+    private volatile Map<String, MachineInfo> membership = Collections.emptyMap();
+    /**
+     * 快照刷新时间（毫秒，0表示需要刷新）
+     */
+    private volatile long membershipRefreshedAt;
+    /**
+     * 快照刷新锁
+     */
+    private final Lock membershipLock = new ReentrantLock();
 
     private CommonExecutorWatcher() {
     }
@@ -68,7 +104,7 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
      */
     @Override
     public int selectDataTotal(Keyable param) {
-        String dataTotalKey = TaskKeyUtil.dataTotal(param);
+        String dataTotalKey = TaskKeyUtil.keyspace(param).getDataTotal();
         Integer dataTotal = CacheUtil.get(dataTotalKey, Integer.class);
         return dataTotal == null ? 0 : dataTotal;
     }
@@ -80,7 +116,7 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
      */
     @Override
     public int selectTaskTotal(Keyable param) {
-        String totalKey = TaskKeyUtil.taskTotal(param);
+        String totalKey = TaskKeyUtil.keyspace(param).getTaskTotal();
         Integer taskTotal = CacheUtil.get(totalKey, Integer.class);
         return taskTotal == null ? 0 : taskTotal;
     }
@@ -92,50 +128,115 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
      */
     @Override
     public List<TaskInfo> selectTaskList(Keyable param) {
-        List<Object> objects = CacheUtil.getMapValues(TaskKeyUtil.taskInfoMap(param));
+        JobKeyspace keys = TaskKeyUtil.keyspace(param);
+        List<Object> objects = CacheUtil.getMapValues(keys.getTaskInfoMap());
         List<TaskInfo> tasks = new ArrayList<>();
+        List<TaskInfo> handling = new ArrayList<>();
         for (Object object : objects) {
             TaskInfo taskInfo = (TaskInfo) object;
-            int status = taskInfo.getStatus();
-            if (status != TaskInfo.STATUS_FINISH) { // 未完成任务查询进度
-                String normalIndexKey = TaskKeyUtil.normalIndexSet(param, taskInfo.getTaskNo());
-                String errorIndexKey = TaskKeyUtil.errorIndexSet(param, taskInfo.getTaskNo());
-                int finish = CacheUtil.getSetSize(normalIndexKey);
-                int errorTotal = CacheUtil.getSetSize(errorIndexKey);
-                taskInfo.setFinish(finish);
-                taskInfo.setErrorTotal(errorTotal);
+            if (taskInfo.getStatus() != TaskInfo.STATUS_FINISH) {
+                handling.add(taskInfo);
             }
             tasks.add(taskInfo);
         }
+        if (!handling.isEmpty()) {
+            if (CacheUtil.supportsAtomicIncrement()) {  // 未完成任务的进度从进度计数中获取（全部批次一次读取）
+                Map<String, Object> progress = CacheUtil.getMap(keys.getProgressMap());
+                for (TaskInfo taskInfo : handling) {
+                    taskInfo.setFinish(intValue(progress.get(TaskKeyUtil.batchFinishField(taskInfo.getTaskNo()))));
+                    taskInfo.setErrorTotal(intValue(progress.get(TaskKeyUtil.batchErrorField(taskInfo.getTaskNo()))));
+                }
+            } else {    // 不支持原子递增时没有进度计数，全部未完成任务的下标集合大小一次交互查询
+                List<PipelineResponse<? extends Number>> responses = new ArrayList<>();
+                CachePipeline pipeline = CacheUtil.pipelined();
+                for (TaskInfo taskInfo : handling) {
+                    responses.add(IndexSetUtil.size(pipeline, keys.normalIndexSet(taskInfo.getTaskNo())));
+                    responses.add(IndexSetUtil.size(pipeline, keys.errorIndexSet(taskInfo.getTaskNo())));
+                }
+                pipeline.sync();
+                for (int i = 0; i < handling.size(); i++) {
+                    handling.get(i).setFinish(responses.get(i * 2).get().intValue());
+                    handling.get(i).setErrorTotal(responses.get(i * 2 + 1).get().intValue());
+                }
+            }
+        }
         tasks.sort(Comparator.comparingInt(TaskInfo::getTaskNo));
         return tasks;
     }
 
     /**
-     * 查询任务是否全部已完成
+     * 查询任务整体进度（数据总数、任务总数及进度计数一次交互查询，与批次数量无关）
+     * 缓存提供者不支持原子递增时没有进度计数，由任务列表汇总
+     * @param param 参数
+     * @return 任务整体进度
+     */
+    @Override
+    public JobProgress selectProgress(Keyable param) {
+        if (!CacheUtil.supportsAtomicIncrement()) {
+            return ExecutorWatcher.super.selectProgress(param);
+        }
+        JobKeyspace keys = TaskKeyUtil.keyspace(param);
+        CachePipeline pipeline = CacheUtil.pipelined();
+        PipelineResponse<Object> dataTotal = pipeline.get(keys.getDataTotal());
+        PipelineResponse<Object> taskTotal = pipeline.get(keys.getTaskTotal());
+        PipelineResponse<Number> finish = pipeline.getHash(keys.getProgressMap(), TaskKeyUtil.PROGRESS_FINISH,
+                Number.class);
+        PipelineResponse<Number> errorTotal = pipeline.getHash(keys.getProgressMap(), TaskKeyUtil.PROGRESS_ERROR,
+                Number.class);
+        pipeline.sync();
+        JobProgress progress = new JobProgress();
+        progress.setDataTotal(intValue(dataTotal.get()));
+        progress.setTaskTotal(intValue(taskTotal.get()));
+        progress.setFinish(finish.get() == null ? 0L : finish.get().longValue());
+        progress.setErrorTotal(errorTotal.get() == null ? 0L : errorTotal.get().longValue());
+        return progress;
+    }
+
+    /**
+     * 计数值转换为整数（不存在为0）
+     * @param value 计数值
+     * @return 整数
+     */
+    private static int intValue(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    /**
+     * 查询任务是否全部已完成（任务总数与完成计数一次交互查询，与任务数量无关）
      * @param param 参数
      * @return 任务是否全部已完成
      */
     @Override
     public boolean isAllTaskDone(Keyable param) {
-        boolean done = true;
-        List<Object> objects = CacheUtil.getMapValues(TaskKeyUtil.taskInfoMap(param));
-        if (objects.isEmpty()) {  // 说明完全还未开始处理
-            done = false;
-        } else {
-            int taskTotal = selectTaskTotal(param);
-            if (taskTotal > objects.size()) {
-                done = false;
-            } else {
-                for (Object object : objects) {
-                    int status = ((TaskInfo) object).getStatus();
-                    if (status != TaskInfo.STATUS_FINISH) { // 未完成任务查询进度
-                        done = false;
-                        break;
-                    }
-                }
+        JobKeyspace keys = TaskKeyUtil.keyspace(param);
+        CachePipeline pipeline = CacheUtil.pipelined();
+        PipelineResponse<Object> taskTotal = pipeline.get(keys.getTaskTotal());
+        PipelineResponse<? extends Number> done = IndexSetUtil.size(pipeline, keys.getDoneTaskSet());
+        pipeline.sync();
+        int total = intValue(taskTotal.get());
+        return total > 0 && done.get().longValue() >= total;   // 任务总数为0说明完全还未开始处理
+    }
+
+    /**
+     * 全量扫描任务信息校正完成计数（批次完成后计数前宕机时完成计数会缺失，只用于宕机恢复）
+     * @param param 参数
+     * @return 任务是否全部已完成
+     */
+    @Override
+    public boolean reconcileCompletion(Keyable param) {
+        JobKeyspace keys = TaskKeyUtil.keyspace(param);
+        List<Object> objects = CacheUtil.getMapValues(keys.getTaskInfoMap());
+        BitSet finished = new BitSet();
+        for (Object object : objects) {
+            TaskInfo taskInfo = (TaskInfo) object;
+            if (taskInfo.getStatus() == TaskInfo.STATUS_FINISH) {
+                finished.set(taskInfo.getTaskNo());
             }
         }
+        IndexSetUtil.addAll(keys.getDoneTaskSet(), finished);   // 按编号去重，与正常计数并发也不会重复计数
+        int taskTotal = selectTaskTotal(param);
+        boolean done = !objects.isEmpty() && finished.cardinality() >= taskTotal;
+        LOG.info(String.format("完成计数校正 已完成 %s 任务总数 %s", finished.cardinality(), taskTotal));
         return done;
     }
 
@@ -150,6 +251,43 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
         } else {
             this.rate = rate;
         }
+        failureDetector.setHeartbeatInterval(rate * 1000L);
+        restartHeartbeat();
+    }
+
+    /**
+     * 设置存活key过期时间，开启后每台机器按过期时间的三分之一续期自己的存活key，
+     * 机器是否存活由缓存服务端过期决定，不依赖机器间时钟，宕机发现时间约为过期时间（全部机器需要一致）
+     * @param ttlMillis 过期时间（毫秒，0表示使用共享map中的心跳时间）
+     */
+    @Override
+    public void setLivenessTtl(long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new RuntimeException("过期时间不能小于0");
+        }
+        this.livenessTtlMillis = ttlMillis;
+        membershipChanged();
+        restartHeartbeat();
+    }
+
+    /**
+     * 设置故障检测器（如phi累积故障检测器，按心跳间隔历史判定宕机，心跳稳定时更快回收宕机机器的任务，心跳抖动时减少误判）
+     * @param failureDetector 故障检测器
+     */
+    @Override
+    public void setFailureDetector(FailureDetector failureDetector) {
+        if (failureDetector == null) {
+            throw new NullPointerException("failure detector is null");
+        }
+        failureDetector.setHeartbeatInterval(rate * 1000L);
+        this.failureDetector = failureDetector;
+        membershipChanged();
+    }
+
+    /**
+     * 开始或重新开始心跳
+     */
+    private void restartHeartbeat() {
         lock.lock();
         try {
             if (heartBeating) { // 根据是否心跳中判断是否是重置操作
@@ -164,43 +302,173 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
     }
 
     /**
-     * 获取全部活跃的机器信息
+     * 获取全部活跃的机器信息（读取本地快照，快照超过一个心跳间隔时刷新）
      * @return 活跃的机器信息
      */
     @Override
     public List<MachineInfo> getActiveMachines() {
+        return new ArrayList<>(currentMembership().values());
+    }
+
+    /**
+     * 判断指定机器编号的机器是否活动中（读取本地快照）
+     * @param machineNo 机器编号
+     * @return 是否活动中
+     */
+    @Override
+    public boolean isActive(String machineNo) {
+        boolean inSnapshot = currentMembership().containsKey(machineNo);
+        boolean ttl = livenessTtlMillis > 0;
+        if (inSnapshot && (ttl || !failureDetector.isSuspected(machineNo, System.currentTimeMillis()))) {
+            return true;
+        }
+        // 快照中不存在（快照刷新后新加入的机器）或快照中的心跳已被怀疑时直接确认一次，避免误判存活机器宕机
+        boolean active;
+        if (ttl) {
+            active = CacheUtil.hasKey(TaskKeyUtil.machineAlive(machineNo));
+        } else {
+            MachineInfo machineInfo = CacheUtil.getHash(TaskKeyUtil.machineInfoMap(), machineNo, MachineInfo.class);
+            active = machineInfo != null && !isExpired(machineInfo, System.currentTimeMillis());
+        }
+        if (active && !inSnapshot) {
+            membershipChanged();
+        }
+        return active;
+    }
+
+    /**
+     * 指定机器的怀疑程度（由故障检测器根据观察到的心跳计算，越大越可能已宕机）
+     * @param machineNo 机器编号
+     * @return 怀疑程度
+     */
+    @Override
+    public double suspicion(String machineNo) {
+        currentMembership();    // 保证快照中的心跳已被观察
+        return failureDetector.suspicion(machineNo, System.currentTimeMillis());
+    }
+
+    /**
+     * 机器成员发生变化（如收到缓存变更通知），下次读取时重新加载快照
+     */
+    public void membershipChanged() {
+        membershipRefreshedAt = 0;
+    }
+
+    /**
+     * 获取本地机器成员快照，超过一个心跳间隔时刷新（同一时间只有一个线程刷新，其他线程使用原快照）
+     * @return 机器成员快照
+     */
+    private Map<String, MachineInfo> currentMembership() {
+        long now = System.currentTimeMillis();
+        long interval = refreshInterval();
+        if (now - membershipRefreshedAt >= interval) {
+            if (membershipRefreshedAt == 0) {    // 尚无可用快照时等待刷新完成
+                membershipLock.lock();
+            } else if (!membershipLock.tryLock()) {
+                return membership;
+            }
+            try {
+                if (System.currentTimeMillis() - membershipRefreshedAt >= interval) {
+                    refreshMembership(false);
+                }
+            } finally {
+                membershipLock.unlock();
+            }
+        }
+        return membership;
+    }
+
+    /**
+     * 快照刷新间隔
+     * @return 刷新间隔（毫秒）
+     */
+    private long refreshInterval() {
+        long ttl = livenessTtlMillis;
+        return ttl > 0 ? Math.max(ttl / 3, 1) : rate * 1000L;
+    }
+
+    /**
+     * 从缓存重新加载机器成员快照
+     * @param reap 是否移除已宕机机器
+     */
+    private void refreshMembership(boolean reap) {
+        if (livenessTtlMillis > 0) {
+            refreshAliveMembership();
+            return;
+        }
         String mapKey = TaskKeyUtil.machineInfoMap();
         List<Object> mapValues = CacheUtil.getMapValues(mapKey);
-        List<MachineInfo> machines = new ArrayList<>();
+        Map<String, MachineInfo> machines = new HashMap<>();
+        long now = System.currentTimeMillis();
         for (Object v : mapValues) {
             MachineInfo machineInfo = (MachineInfo) v;
-            Date heartbeatTime = machineInfo.getLastHeartbeatTime();
-            if ((new Date().getTime() - heartbeatTime.getTime()) / (rate * 1000) > 2) {
-                // 上次心跳距离当前时间已超间隔两倍，说明机器已经宕机,宕机机器移除
-                CacheUtil.deleteHash(mapKey, machineInfo.getMachineNo());
+            if (isExpired(machineInfo, now)) {
+                if (reap) {
+                    CacheUtil.deleteHash(mapKey, machineInfo.getMachineNo());
+                    failureDetector.remove(machineInfo.getMachineNo());
+                }
                 continue;
             }
-            machines.add(machineInfo);
+            machines.put(machineInfo.getMachineNo(), machineInfo);
         }
-
-        return machines;
+        membership = Collections.unmodifiableMap(machines);
+        membershipRefreshedAt = now;
     }
 
     /**
-     * 判断指定机器编号的机器是否活动中
-     * @param machineNo 机器编号
-     * @return 是否活动中
+     * 按存活key重新加载机器成员快照（读取登记的机器编号后一次管道读取各自的存活key，存在即存活）
+     * 存活key已过期的成员移除登记，机器恢复续期时重新登记
      */
-    @Override
-    public boolean isActive(String machineNo) {
-        List<MachineInfo> machines = getActiveMachines();
-        for (MachineInfo machine : machines) {
-            String no = machine.getMachineNo();
-            if (machineNo.equals(no)) {
-                return true;
+    private void refreshAliveMembership() {
+        long now = System.currentTimeMillis();
+        String memberMapKey = TaskKeyUtil.machineMemberMap();
+        List<String> machineNos = new ArrayList<>(CacheUtil.getMapKeys(memberMapKey));
+        List<PipelineResponse<Object>> responses = new ArrayList<>(machineNos.size());
+        CachePipeline pipeline = CacheUtil.pipelined();
+        for (String machineNo : machineNos) {
+            responses.add(pipeline.get(TaskKeyUtil.machineAlive(machineNo)));
+        }
+        pipeline.sync();
+        Map<String, MachineInfo> machines = new HashMap<>();
+        for (int i = 0; i < machineNos.size(); i++) {
+            String machineNo = machineNos.get(i);
+            MachineInfo machineInfo = (MachineInfo) responses.get(i).get();
+            if (machineInfo == null) {
+                CacheUtil.deleteHash(memberMapKey, machineNo);
+                failureDetector.remove(machineNo);
+                continue;
             }
+            failureDetector.heartbeat(machineNo, machineInfo.getLastHeartbeatTime().getTime());
+            machines.put(machineNo, machineInfo);
+        }
+        membership = Collections.unmodifiableMap(machines);
+        membershipRefreshedAt = now;
+    }
+
+    /**
+     * 记录机器心跳并由故障检测器判断机器是否已宕机
+     * @param machineInfo 机器信息
+     * @param now         当前时间（毫秒）
+     * @return true：已宕机
+     */
+    private boolean isExpired(MachineInfo machineInfo, long now) {
+        FailureDetector detector = failureDetector;
+        detector.heartbeat(machineInfo.getMachineNo(), machineInfo.getLastHeartbeatTime().getTime());
+        return detector.isSuspected(machineInfo.getMachineNo(), now);
+    }
+
+    /**
+     * 移除已宕机机器并刷新快照（后台定时执行，取代每次查询时移除）
+     */
+    private void reap() {
+        membershipLock.lock();
+        try {
+            refreshMembership(true);
+        } catch (RuntimeException e) {
+            LOG.error("移除宕机机器错误", e);
+        } finally {
+            membershipLock.unlock();
         }
-        return false;
     }
 
     /**
@@ -208,13 +476,47 @@ public class CommonExecutorWatcher implements ExecutorWatcher {
      */
     private void startHeartbeat() {
         heartBeating = true;
-        String mapKey = TaskKeyUtil.machineInfoMap();
         String machineNo = ApplicationUtil.getApplicationUniqueKey();
-        scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler = new ScheduledThreadPoolExecutor(2);
+        long ttl = livenessTtlMillis;
+        if (ttl > 0) {  // 续期自己的存活key并登记成员，过期由缓存服务端处理，不需要移除宕机机器
+            String aliveKey = TaskKeyUtil.machineAlive(machineNo);
+            String memberMapKey = TaskKeyUtil.machineMemberMap();
+            scheduler.scheduleAtFixedRate(() -> {
+                MachineInfo machineInfo = new MachineInfo(machineNo, new Date());
+                try {
+                    if (AsyncCacheUtil.isAvailable()) {
+                        AsyncCacheUtil.set(aliveKey, machineInfo, ttl)
+                                .thenCompose(r -> AsyncCacheUtil.setHash(memberMapKey, machineNo, machineNo))
+                                .whenComplete((r, t) -> {
+                                    if (t != null) {
+                                        LOG.error("存活key续期错误", t);
+                                    }
+                                });
+                    } else {
+                        CacheUtil.set(aliveKey, machineInfo, ttl);
+                        CacheUtil.setHash(memberMapKey, machineNo, machineNo);  // 存活key写入后登记，读取到成员时存活key已存在
+                    }
+                } catch (RuntimeException e) {     // 单次续期失败不影响后续续期
+                    LOG.error("存活key续期错误", e);
+                }
+            }, 0, Math.max(ttl / 3, 1), TimeUnit.MILLISECONDS);
+            return;
+        }
+        String mapKey = TaskKeyUtil.machineInfoMap();
         scheduler.scheduleAtFixedRate(() -> {
             MachineInfo machineInfo = new MachineInfo(machineNo, new Date());
-            CacheUtil.setHash(mapKey, machineNo, machineInfo);  // 机器编号信息存入缓存
+            if (AsyncCacheUtil.isAvailable()) { // 异步写入，心跳线程不等待缓存交互
+                AsyncCacheUtil.setHash(mapKey, machineNo, machineInfo).whenComplete((r, t) -> {
+                    if (t != null) {
+                        LOG.error("心跳写入缓存错误", t);
+                    }
+                });
+            } else {
+                CacheUtil.setHash(mapKey, machineNo, machineInfo);  // 机器编号信息存入缓存
+            }
         }, rate, rate, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::reap, rate, rate, TimeUnit.SECONDS);    // 单个后台线程移除宕机机器
     }
 
     /**
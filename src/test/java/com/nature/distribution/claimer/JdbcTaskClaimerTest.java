@@ -0,0 +1,140 @@
+package com.nature.distribution.claimer;
+
+import com.nature.distribution.model.Keyable;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 基于数据库的任务编号领取者测试（嵌入式H2）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 10:00
+ */
+public class JdbcTaskClaimerTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final Keyable job = () -> "job";
+
+    private JdbcTaskClaimer claimer;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:claimer" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE distribution_task (job_key VARCHAR(255) NOT NULL, task_no INT NOT NULL," +
+                    " status INT NOT NULL, owner VARCHAR(64), lease_until TIMESTAMP, PRIMARY KEY (job_key, task_no))");
+        }
+        claimer = new JdbcTaskClaimer(dataSource);
+    }
+
+    @Test
+    public void initIsIdempotent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                claimer.init(job, 20);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        claimer.init(job, 20);
+        assertEquals(20, claimer.countUnfinished(job));
+        claimer.init(job, 25);  // 任务总数增加时只补齐缺少的编号
+        assertEquals(25, claimer.countUnfinished(job));
+    }
+
+    @Test
+    public void concurrentClaimsNeverShareTaskNo() throws Exception {
+        int taskTotal = 200;
+        claimer.init(job, taskTotal);
+        Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String machineNo = "m" + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                Integer taskNo;
+                while ((taskNo = claimer.claim(job, machineNo, 60)) != null) {
+                    if (!claimed.add(taskNo)) {
+                        duplicates.incrementAndGet();
+                    }
+                    claimer.complete(job, taskNo, machineNo);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(0, duplicates.get());
+        assertEquals(taskTotal, claimed.size());
+        assertEquals(0, claimer.countUnfinished(job));
+    }
+
+    @Test
+    public void liveLeaseIsNotReclaimed() {
+        claimer.init(job, 1);
+        assertEquals(Integer.valueOf(1), claimer.claim(job, "a", 60));
+        assertNull(claimer.claim(job, "b", 60));
+        assertEquals(1, claimer.countUnfinished(job));
+    }
+
+    @Test
+    public void expiredLeaseIsReclaimed() throws Exception {
+        claimer.init(job, 1);
+        assertEquals(Integer.valueOf(1), claimer.claim(job, "a", 1));
+        assertNull(claimer.claim(job, "b", 60));
+        TimeUnit.MILLISECONDS.sleep(1200);
+        assertEquals(Integer.valueOf(1), claimer.claim(job, "b", 60));
+        assertFalse(claimer.renew(job, 1, "a", 60));    // 租约已被其他机器领取
+        claimer.complete(job, 1, "a");                  // 原持有者完成不覆盖新持有者
+        assertEquals(1, claimer.countUnfinished(job));
+        claimer.complete(job, 1, "b");
+        assertEquals(0, claimer.countUnfinished(job));
+    }
+
+    @Test
+    public void renewChecksOwner() throws Exception {
+        claimer.init(job, 1);
+        assertEquals(Integer.valueOf(1), claimer.claim(job, "a", 1));
+        assertFalse(claimer.renew(job, 1, "b", 60));
+        assertTrue(claimer.renew(job, 1, "a", 60));
+        TimeUnit.MILLISECONDS.sleep(1200);
+        assertNull(claimer.claim(job, "b", 60));     // 续约后租约未过期
+        claimer.complete(job, 1, "a");
+        assertFalse(claimer.renew(job, 1, "a", 60));    // 已完成不能续约
+    }
+}
@@ -0,0 +1,102 @@
+package com.nature.distribution.codec;
+
+import com.nature.distribution.definition.Codec;
+import com.nature.distribution.model.MachineInfo;
+import com.nature.distribution.model.TaskInfo;
+
+import java.util.Date;
+
+/**
+ * 编解码器基准测试（紧凑二进制编码与java序列化对比编码大小及编解码耗时）
+ * 不随单元测试执行，需要时以测试classpath运行main（如在IDE中直接运行）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 12:10
+ */
+public class CodecBenchmark {
+
+    /**
+     * 预热轮数
+     */
+    private static final int WARMUP_ROUNDS = 5;
+    /**
+     * 计时轮数
+     */
+    private static final int MEASURE_ROUNDS = 5;
+    /**
+     * 每轮编解码次数
+     */
+    private static final int OPERATIONS = 100_000;
+
+    /**
+     * 防止编解码结果被优化掉
+     */
+    private static long blackhole;
+
+    public static void main(String[] args) {
+        TaskInfo taskInfo = new TaskInfo();
+        taskInfo.setTaskNo(1024);
+        taskInfo.setMachineNo("192.168.1.100:8080");
+        taskInfo.setTotal(5000);
+        taskInfo.setFinish(4990);
+        taskInfo.setErrorTotal(10);
+        taskInfo.setStatus(TaskInfo.STATUS_FINISH);
+        taskInfo.setStartTime(new Date());
+        taskInfo.setFinishTime(new Date());
+        MachineInfo machineInfo = new MachineInfo("192.168.1.100:8080", new Date());
+
+        Codec[] codecs = {new CompactModelCodec(), JavaSerializationCodec.getInstance()};
+        Object[] values = {taskInfo, machineInfo};
+        System.out.println(String.format("%-24s %-12s %8s %14s %14s", "codec", "value", "bytes", "encode(ns/op)",
+                "decode(ns/op)"));
+        for (Object value : values) {
+            for (Codec codec : codecs) {
+                byte[] bytes = codec.encode(value);
+                for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                    encode(codec, value);
+                    decode(codec, bytes);
+                }
+                long encodeNanos = Long.MAX_VALUE;
+                long decodeNanos = Long.MAX_VALUE;
+                for (int i = 0; i < MEASURE_ROUNDS; i++) {  // 取最快一轮，减少GC等干扰
+                    encodeNanos = Math.min(encodeNanos, encode(codec, value));
+                    decodeNanos = Math.min(decodeNanos, decode(codec, bytes));
+                }
+                System.out.println(String.format("%-24s %-12s %8d %14.1f %14.1f", codec.getClass().getSimpleName(),
+                        value.getClass().getSimpleName(), bytes.length, (double) encodeNanos / OPERATIONS,
+                        (double) decodeNanos / OPERATIONS));
+            }
+        }
+        if (blackhole == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * 一轮编码
+     * @param codec 编解码器
+     * @param value 值
+     * @return 耗时（纳秒）
+     */
+    private static long encode(Codec codec, Object value) {
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            blackhole += codec.encode(value).length;
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 一轮解码
+     * @param codec 编解码器
+     * @param bytes 字节
+     * @return 耗时（纳秒）
+     */
+    private static long decode(Codec codec, byte[] bytes) {
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            blackhole += System.identityHashCode(codec.decode(bytes));
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,80 @@
+package com.nature.distribution.detector;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * phi累积故障检测器测试（注入本机时钟，不依赖实际等待）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 11:40
+ */
+public class PhiAccrualFailureDetectorTest {
+
+    /**
+     * 心跳机器时钟差异（1小时）
+     */
+    private static final long SKEW_MILLIS = 3600_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private PhiAccrualFailureDetector detector;
+
+    @Before
+    public void setUp() {
+        detector = new PhiAccrualFailureDetector();
+        detector.setClock(clock::get);
+        detector.setHeartbeatInterval(100L);
+        detector.setMinStdDeviationMillis(20L);
+    }
+
+    @Test
+    public void elapsedTimeUsesLocalClock() {
+        long remote = clock.get() - SKEW_MILLIS;    // 心跳机器时钟落后
+        for (int i = 0; i < 5; i++) {
+            detector.heartbeat("m", remote + i * 100L);
+            detector.heartbeat("m", remote + i * 100L);    // 重复观察同一心跳
+            clock.addAndGet(100L);
+        }
+        long lastArrival = clock.get() - 100L;
+        assertFalse(detector.isSuspected("m", lastArrival + 100L));
+        assertTrue(detector.isSuspected("m", lastArrival + 2000L));
+    }
+
+    @Test
+    public void intervalsFollowHeartbeatTimeNotObservation() {
+        long remote = 10_000L;
+        long lastArrival = 0L;
+        for (int i = 0; i < 12; i++) {  // 每100毫秒一次心跳，每200毫秒观察一次（每次观察到两个心跳）
+            lastArrival = 1_000_000L + (i / 2 + 1) * 200L;
+            clock.set(lastArrival);
+            detector.heartbeat("m", remote + i * 100L);
+        }
+        // 按观察时间计算的间隔为0与200交替，标准差很大；按心跳时间计算的间隔稳定为100
+        assertFalse(detector.isSuspected("m", lastArrival + 100L));
+        assertTrue(detector.isSuspected("m", lastArrival + 400L));
+    }
+
+    @Test
+    public void olderHeartbeatIsIgnored() {
+        detector.heartbeat("m", 1000L);
+        clock.addAndGet(100L);
+        detector.heartbeat("m", 1100L);
+        double suspicion = detector.suspicion("m", clock.get() + 300L);
+        clock.addAndGet(100L);
+        detector.heartbeat("m", 1050L);     // 乱序到达的旧心跳不更新观察时间
+        assertEquals(suspicion, detector.suspicion("m", clock.get() + 200L), 0D);
+    }
+
+    @Test
+    public void unknownMachineIsNotSuspected() {
+        assertEquals(0D, detector.suspicion("unknown", clock.get()), 0D);
+        assertFalse(detector.isSuspected("unknown", clock.get() + SKEW_MILLIS));
+    }
+}
@@ -0,0 +1,218 @@
+package com.nature.distribution.executor;
+
+import com.nature.distribution.definition.Work;
+import com.nature.distribution.model.Copyable;
+import com.nature.distribution.model.JobProgress;
+import com.nature.distribution.model.KeyAndPage;
+import com.nature.distribution.model.TaskInfo;
+import com.nature.distribution.provider.ForwardingCacheProvider;
+import com.nature.distribution.provider.MemoryCacheProvider;
+import com.nature.distribution.util.CacheUtil;
+import com.nature.distribution.watcher.CommonExecutorWatcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * 分布式执行器测试（内存缓存提供者，单机执行）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 14:20
+ */
+public class DistributionExecutorTest {
+
+    /**
+     * 数据总数
+     */
+    private static final int TOTAL = 95;
+
+    private MemoryCacheProvider memory;
+
+    private ThreadPoolExecutor pool;
+
+    @Before
+    public void setUp() {
+        memory = new MemoryCacheProvider();
+        CacheUtil.setCacheProvider(memory);
+        CommonExecutorWatcher.getInstance().setHeartbeatRate(1);
+        pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+        memory.shutdown();
+    }
+
+    @Test
+    public void progressFallsBackToIndexSetsWithoutAtomicIncrement() {
+        CacheUtil.setCacheProvider(new ForwardingCacheProvider(memory) {
+            @Override
+            public boolean supportsAtomicIncrement() {
+                return false;
+            }
+
+            @Override
+            public long incrementHash(String key, String hashKey, long delta) {
+                throw new AssertionError("不支持原子递增时不应维护进度计数");
+            }
+        });
+        DistributionExecutor executor = new DistributionExecutor();
+        executor.setExecutor(pool);
+        Param param = new Param("no-increment");
+        executor.executeUntilAllDone(new RangeWork(-1), param);
+
+        JobProgress progress = CommonExecutorWatcher.getInstance().selectProgress(param);
+        assertEquals(TOTAL, progress.getDataTotal());
+        assertEquals(TOTAL, progress.getFinish());
+        assertEquals(0, progress.getErrorTotal());
+        for (TaskInfo taskInfo : CommonExecutorWatcher.getInstance().selectTaskList(param)) {
+            assertEquals(TaskInfo.STATUS_FINISH, taskInfo.getStatus());
+        }
+    }
+
+    @Test
+    public void prefetchFailureReleasesClaimedBatches() {
+        DistributionExecutor executor = new DistributionExecutor();
+        executor.setExecutor(pool);
+        executor.setPrefetchDepth(2);
+        executor.setLockFreeClaim(true);
+        Param param = new Param("prefetch-failure");
+        RangeWork failing = new RangeWork(3);   // 前两个批次处理中时预取第3个批次失败
+        try {
+            executor.execute(failing, param);
+            fail("预取失败应抛出异常");
+        } catch (RuntimeException e) {
+            assertEquals("查询数据错误 3", e.getMessage());
+        }
+        for (TaskInfo taskInfo : CommonExecutorWatcher.getInstance().selectTaskList(param)) {
+            if (taskInfo.getStatus() != TaskInfo.STATUS_FINISH) {
+                assertNull("未完成的批次应已释放", taskInfo.getMachineNo());
+            }
+        }
+
+        RangeWork retry = new RangeWork(-1);
+        executor.executeUntilAllDone(retry, param);     // 释放的批次被回收，已处理的数据不再处理
+        assertEquals(TOTAL, failing.handled.get() + retry.handled.get());
+        JobProgress progress = CommonExecutorWatcher.getInstance().selectProgress(param);
+        assertEquals(TOTAL, progress.getFinish());
+        for (TaskInfo taskInfo : CommonExecutorWatcher.getInstance().selectTaskList(param)) {
+            assertEquals(TaskInfo.STATUS_FINISH, taskInfo.getStatus());
+        }
+    }
+
+    /**
+     * 测试参数（每页10条）
+     */
+    static class Param implements KeyAndPage, Copyable<Param> {
+
+        private final String key;
+
+        private boolean doPage = true;
+
+        private int pageNum;
+
+        private int pageSize = 10;
+
+        Param(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public String genKey() {
+            return key;
+        }
+
+        @Override
+        public boolean getDoPage() {
+            return doPage;
+        }
+
+        @Override
+        public void setDoPage(boolean doPage) {
+            this.doPage = doPage;
+        }
+
+        @Override
+        public int getPageNum() {
+            return pageNum;
+        }
+
+        @Override
+        public void setPageNum(int pageNum) {
+            this.pageNum = pageNum;
+        }
+
+        @Override
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        @Override
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public Param copy() {
+            Param copy = new Param(key);
+            copy.doPage = doPage;
+            copy.pageNum = pageNum;
+            copy.pageSize = pageSize;
+            return copy;
+        }
+    }
+
+    /**
+     * 按页返回连续整数的任务
+     */
+    static class RangeWork implements Work<Param, Integer> {
+
+        /**
+         * 查询数据时抛出异常的页码（-1表示不抛出）
+         */
+        private final int failingPage;
+        /**
+         * 已处理数据数
+         */
+        private final AtomicInteger handled = new AtomicInteger();
+
+        RangeWork(int failingPage) {
+            this.failingPage = failingPage;
+        }
+
+        @Override
+        public int selectDataTotal(Param param) {
+            return TOTAL;
+        }
+
+        @Override
+        public List<Integer> selectDataList(Param param) {
+            if (param.getPageNum() == failingPage) {
+                throw new RuntimeException("查询数据错误 " + failingPage);
+            }
+            List<Integer> data = new ArrayList<>();
+            int from = (param.getPageNum() - 1) * param.getPageSize();
+            for (int i = from; i < Math.min(TOTAL, from + param.getPageSize()); i++) {
+                data.add(i);
+            }
+            return data;
+        }
+
+        @Override
+        public void handleDatum(Param param, Integer datum) {
+            handled.incrementAndGet();
+        }
+    }
+}
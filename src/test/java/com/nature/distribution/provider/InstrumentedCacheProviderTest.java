@@ -0,0 +1,93 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.CachePipeline;
+import com.nature.distribution.model.OperationStats;
+import com.nature.distribution.util.TaskKeyUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * 统计耗时的缓存提供者测试
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 16:10
+ */
+public class InstrumentedCacheProviderTest {
+
+    private MemoryCacheProvider memory;
+
+    private InstrumentedCacheProvider provider;
+
+    @Before
+    public void setUp() {
+        memory = new MemoryCacheProvider();
+        provider = new InstrumentedCacheProvider(memory);
+    }
+
+    @After
+    public void tearDown() {
+        memory.shutdown();
+    }
+
+    @Test
+    public void callsAndErrorsAreRecordedByKeyFamily() {
+        String key = TaskKeyUtil.machineInfoMap();
+        provider.setHash(key, "m", 1);
+        provider.getHash(key, "m");
+        try {
+            provider.addToSet(key, 1);      // 类型不符
+            fail("类型不符应抛出异常");
+        } catch (RuntimeException e) {
+            // 预期异常
+        }
+        String family = TaskKeyUtil.keyFamily(key);
+        assertEquals(1, stats("setHash", family).getCalls());
+        assertEquals(1, stats("getHash", family).getCalls());
+        OperationStats failed = stats("addToSet", family);
+        assertEquals(1, failed.getCalls());
+        assertEquals(1, failed.getErrors());
+    }
+
+    @Test
+    public void pipelineRecordsEachOperationByKeyFamily() {
+        String hashKey = TaskKeyUtil.machineMemberMap();
+        String bitmapKey = TaskKeyUtil.machineAlive("m");
+        BitSet bits = new BitSet();
+        bits.set(1);
+        CachePipeline pipeline = provider.pipelined();
+        pipeline.incrementHash(hashKey, "finish", 1);
+        pipeline.incrementHash(hashKey, "error", 1);
+        pipeline.setBits(bitmapKey, bits);
+        pipeline.sync();
+
+        assertEquals(1, stats("pipeline.sync", "multi").getCalls());
+        OperationStats increments = stats("pipeline.incrementHash", TaskKeyUtil.keyFamily(hashKey));
+        assertEquals(2, increments.getCalls());
+        assertEquals(1, stats("pipeline.setBits", TaskKeyUtil.keyFamily(bitmapKey)).getCalls());
+        assertNull(find("incrementHash", TaskKeyUtil.keyFamily(hashKey)));  // 管道内操作不计入直接调用
+    }
+
+    private OperationStats stats(String operation, String family) {
+        OperationStats stats = find(operation, family);
+        if (stats == null) {
+            fail(String.format("缺少统计 %s %s", operation, family));
+        }
+        return stats;
+    }
+
+    private OperationStats find(String operation, String family) {
+        for (OperationStats stats : provider.snapshot()) {
+            if (stats.getOperation().equals(operation) && stats.getKeyFamily().equals(family)) {
+                return stats;
+            }
+        }
+        return null;
+    }
+}
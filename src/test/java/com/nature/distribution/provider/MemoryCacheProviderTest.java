@@ -0,0 +1,130 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.model.TaskInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 内存缓存提供者测试
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 11:10
+ */
+public class MemoryCacheProviderTest {
+
+    private MemoryCacheProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = new MemoryCacheProvider();
+    }
+
+    @After
+    public void tearDown() {
+        provider.shutdown();
+    }
+
+    @Test
+    public void updateHashWithoutUpdateHasNoSideEffects() {
+        provider.setHash("hash", "1", taskInfo(TaskInfo.STATUS_HANDLING));
+        assertNull(provider.updateHash("hash", "1", TaskInfo.class, taskInfo -> {
+            taskInfo.setStatus(TaskInfo.STATUS_FINISH);     // 修改后放弃更新
+            return null;
+        }));
+        assertEquals(TaskInfo.STATUS_HANDLING, provider.getHash("hash", "1", TaskInfo.class).getStatus());
+    }
+
+    @Test
+    public void valuesAreStoredAndReturnedAsCopies() {
+        TaskInfo written = taskInfo(TaskInfo.STATUS_HANDLING);
+        provider.setHash("hash", "1", written);
+        written.setStatus(TaskInfo.STATUS_FINISH);
+        provider.getHash("hash", "1", TaskInfo.class).setStatus(TaskInfo.STATUS_FINISH);
+        assertEquals(TaskInfo.STATUS_HANDLING, provider.getHash("hash", "1", TaskInfo.class).getStatus());
+    }
+
+    @Test
+    public void expiredKeysAreInvisibleAndRemoved() throws Exception {
+        provider.set("short", "v", 50L);
+        provider.set("long", "v", 60_000L);
+        provider.addToSet("set", 1);
+        provider.expireMillis("set", 50L);
+        Thread.sleep(300L);     // 超过过期时间及时间轮刻度
+        assertNull(provider.get("short"));
+        assertFalse(provider.hasKey("set"));
+        assertEquals(0, provider.getSetSize("set"));
+        assertEquals("v", provider.get("long"));
+        assertEquals(new HashSet<>(Arrays.asList("long")), provider.keys("*"));
+        provider.addToSet("set", 2);    // 过期后重新写入为新的集合
+        assertEquals(new HashSet<>(Arrays.asList(2)), provider.getSet("set", Integer.class));
+        assertEquals(-1L, provider.ttlMillis("set"));
+    }
+
+    @Test
+    public void lockWithoutSecondsUsesDefaultTtl() {
+        assertTrue(provider.lock("lock", null));
+        assertFalse(provider.lock("lock", null));
+        long ttl = provider.ttlMillis("lock");
+        assertTrue("默认锁定时间应为60秒，实际 " + ttl, ttl > 59_000L && ttl <= 60_000L);
+    }
+
+    @Test
+    public void expiredLockCanBeLockedAgain() throws Exception {
+        assertTrue(provider.lock("lock", 1L));
+        assertFalse(provider.lock("lock", 1L));
+        Thread.sleep(1100L);
+        assertTrue(provider.lock("lock", 1L));
+    }
+
+    @Test
+    public void claimStopsAtLimit() {
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(Integer.valueOf(i), provider.claim("taskNo", 3));
+        }
+        assertNull(provider.claim("taskNo", 3));
+        assertNull(provider.claim("taskNo", 3));
+        assertEquals(3, provider.get("taskNo"));    // 领完后计数器不越界
+        assertEquals(Integer.valueOf(4), provider.claim("taskNo", 4));   // 上限增加后继续领取
+    }
+
+    @Test
+    public void keysMatchGlobPatterns() {
+        for (String key : Arrays.asList("job:1", "job:12", "job:a", "map:job:1", "x.y", "xzy")) {
+            provider.set(key, 1);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("job:1", "job:12", "job:a")), provider.keys("job:*"));
+        assertEquals(new HashSet<>(Arrays.asList("job:1", "job:a")), provider.keys("job:?"));
+        assertEquals(new HashSet<>(Arrays.asList("job:1")), provider.keys("job:[0-9]"));
+        assertEquals(new HashSet<>(Arrays.asList("job:a")), provider.keys("job:[^0-9]"));
+        assertEquals(new HashSet<>(Arrays.asList("x.y")), provider.keys("x.y"));     // 正则字符按普通字符匹配
+        assertEquals(new HashSet<>(Arrays.asList("map:job:1")), provider.keys("map\\:*"));
+    }
+
+    @Test
+    public void emptyContainersAreRemoved() {
+        provider.setHash("hash", "1", 1);
+        provider.deleteHash("hash", "1");
+        assertFalse(provider.hasKey("hash"));
+        provider.addToList("list", 1);
+        assertEquals(Integer.valueOf(1), provider.popFromList("list", Integer.class));
+        assertFalse(provider.hasKey("list"));
+        assertNull(provider.popFromList("list", Integer.class));
+        assertFalse(provider.hasKey("list"));
+    }
+
+    private static TaskInfo taskInfo(int status) {
+        TaskInfo taskInfo = new TaskInfo();
+        taskInfo.setTaskNo(1);
+        taskInfo.setStatus(status);
+        return taskInfo;
+    }
+}
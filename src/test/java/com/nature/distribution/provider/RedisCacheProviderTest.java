@@ -0,0 +1,205 @@
+package com.nature.distribution.provider;
+
+import com.nature.distribution.definition.CachePipeline;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * redis缓存提供者测试（启动本地redis-server进程，无法启动时跳过）
+ * @author nature
+ * @version 1.0.0
+ * @since 2026/10/18 10:30
+ */
+public class RedisCacheProviderTest {
+
+    private static RedisServer server;
+
+    private static JedisPool pool;
+
+    private RedisCacheProvider provider;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try {
+            server = new RedisServer(port);
+            server.start();
+        } catch (Exception e) {
+            server = null;
+        }
+        Assume.assumeTrue("redis-server无法启动", server != null);
+        pool = new JedisPool("127.0.0.1", port);
+    }
+
+    @AfterClass
+    public static void stopServer() throws Exception {
+        if (pool != null) {
+            pool.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        provider = new RedisCacheProvider(pool);
+    }
+
+    @After
+    public void tearDown() {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.flushAll();
+        }
+    }
+
+    @Test
+    public void claimNeverExceedsLimit() {
+        assertEquals(Integer.valueOf(1), provider.claim("claim", 3));
+        assertEquals(Integer.valueOf(2), provider.claim("claim", 3));
+        assertEquals(Integer.valueOf(3), provider.claim("claim", 3));
+        assertNull(provider.claim("claim", 3));
+        assertNull(provider.claim("claim", 3));
+        assertEquals(3, provider.get("claim"));    // 编号领完后计数器不再递增
+    }
+
+    @Test
+    public void claimSurvivesScriptFlush() {
+        assertEquals(Integer.valueOf(1), provider.claim("claim", 3));
+        try (Jedis jedis = pool.getResource()) {
+            jedis.scriptFlush();
+        }
+        assertEquals(Integer.valueOf(2), provider.claim("claim", 3));   // 脚本缓存丢失时回退为eval
+    }
+
+    @Test
+    public void updateHashIsAtomicUnderContention() throws Exception {
+        int threads = 8;
+        int updates = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < updates; j++) {
+                    provider.updateHash("hash", "counter", Integer.class, v -> v == null ? 1 : v + 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(Integer.valueOf(threads * updates), provider.getHash("hash", "counter", Integer.class));
+    }
+
+    @Test
+    public void updateHashReturnsNullWhenNotUpdated() {
+        assertEquals("a", provider.updateHash("hash", "field", String.class, v -> "a"));
+        assertNull(provider.updateHash("hash", "field", String.class, v -> null));
+        assertEquals("a", provider.getHash("hash", "field", String.class));
+    }
+
+    @Test
+    public void unlockOnlyReleasesOwnLock() throws Exception {
+        assertTrue(provider.lock("lock", 60L));
+        assertFalse(provider.lock("lock", 60L));
+        ExecutorService other = Executors.newSingleThreadExecutor();   // 其他线程为其他持有者
+        other.submit(() -> provider.unlock("lock")).get();
+        other.shutdown();
+        assertTrue(provider.hasKey("lock"));
+        provider.unlock("lock");
+        assertFalse(provider.hasKey("lock"));
+    }
+
+    @Test
+    public void lockWithoutTimeExpires() {
+        assertTrue(provider.lock("lock", null));
+        try (Jedis jedis = pool.getResource()) {
+            long ttl = jedis.pttl("lock");
+            assertTrue(ttl > 0 && ttl <= 60000);
+        }
+    }
+
+    @Test
+    public void keysScansAllMatches() {
+        Set<String> expected = new HashSet<>();
+        try (Jedis jedis = pool.getResource()) {
+            for (int i = 0; i < 2500; i++) {    // 超过单次SCAN数量
+                jedis.set("match:" + i, "1");
+                expected.add("match:" + i);
+                jedis.set("other:" + i, "1");
+            }
+        }
+        assertEquals(expected, provider.keys("match:*"));
+    }
+
+    @Test
+    public void digitStringsKeepTheirType() {
+        provider.set("string", "123");
+        provider.set("negative", "-5");
+        provider.set("number", 123);
+        provider.setHash("hash", "1", "42");
+        provider.addAllToSet("set", Arrays.asList("7", 7));
+        assertEquals("123", provider.get("string"));
+        assertEquals("-5", provider.get("negative"));
+        assertEquals(123, provider.get("number"));
+        assertEquals("42", provider.getHash("hash", "1"));
+        assertEquals(new HashSet<>(Arrays.asList("7", 7)), provider.getSet("set", Object.class));
+        assertEquals(Integer.valueOf(124), provider.incrementAndGet("number", 1));     // 整数仍可与INCR共用
+    }
+
+    @Test
+    public void setBitsMatchesBitSet() {
+        BitSet bits = new BitSet();
+        bits.set(3);
+        bits.set(8, 24);        // 对齐的整字节
+        bits.set(30, 45);       // 跨字节的连续位
+        bits.set(100);
+        for (int i = 1000; i < 6000; i += 3) {  // 超过单个BITFIELD命令的子命令数
+            bits.set(i);
+        }
+        provider.setBit("bitmap", 2, true);     // 已有的位保留
+        provider.setBits("bitmap", bits);
+        BitSet expected = (BitSet) bits.clone();
+        expected.set(2);
+        assertEquals(expected.cardinality(), provider.bitCount("bitmap"));
+        assertEquals(expected, provider.getBits("bitmap", 0, -1));
+
+        CachePipeline pipeline = provider.pipelined();
+        pipeline.setBits("piped", bits);
+        pipeline.sync();
+        assertEquals(bits, provider.getBits("piped", 0, -1));
+    }
+}